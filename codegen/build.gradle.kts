@@ -0,0 +1,29 @@
+/*
+ * The annotation processor generating the reflection-free RecordCodecs of the @GenerateCodec records in lib.
+ * It only runs at compile time, it has no dependencies and is not a runtime dependency of lib.
+ * The tests compile sample records against the lib classes, which lib builds with this processor.
+ */
+
+plugins {
+    java
+}
+
+repositories {
+    mavenCentral()
+}
+
+dependencies {
+    testImplementation(libs.junit.jupiter)
+    testImplementation(project(":lib"))
+    testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+}
+
+java {
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(17)
+    }
+}
+
+tasks.named<Test>("test") {
+    useJUnitPlatform()
+}
@@ -0,0 +1,308 @@
+package io.etip.sdk.hello.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.RecordComponentElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.tools.Diagnostic;
+import javax.tools.StandardLocation;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Generates a RecordCodec per @GenerateCodec record, it reads and writes the record components with the
+// Jackson streaming API, no reflection and no databind involved, and registers the codecs as services.
+@SupportedAnnotationTypes(RecordCodecProcessor.GENERATE_CODEC)
+public class RecordCodecProcessor extends AbstractProcessor {
+    static final String GENERATE_CODEC = "io.etip.sdk.hello.GenerateCodec";
+    private static final String RECORD_CODEC = "io.etip.sdk.hello.RecordCodec";
+    private static final String RECORD_CODECS = "io.etip.sdk.hello.RecordCodecs";
+    private static final String STRING_DEDUPLICATION = "io.etip.sdk.hello.StringDeduplication";
+
+    // the scalar types, by primitive or qualified name, and their RecordCodecs read/write methods.
+    private static final Map<String, String[]> SCALARS = Map.ofEntries(
+            Map.entry("java.lang.String", new String[]{"readString", "writeString"}),
+            Map.entry("int", new String[]{"readInt", null}),
+            Map.entry("long", new String[]{"readLong", null}),
+            Map.entry("double", new String[]{"readDouble", null}),
+            Map.entry("boolean", new String[]{"readBoolean", null}),
+            Map.entry("java.lang.Integer", new String[]{"readIntegerOrNull", "writeNumber"}),
+            Map.entry("java.lang.Long", new String[]{"readLongOrNull", "writeNumber"}),
+            Map.entry("java.lang.Double", new String[]{"readDoubleOrNull", "writeNumber"}),
+            Map.entry("java.lang.Boolean", new String[]{"readBooleanOrNull", "writeBoolean"}),
+            Map.entry("java.time.LocalDate", new String[]{"readLocalDate", "writeLocalDate"}),
+            Map.entry("java.time.LocalDateTime", new String[]{"readLocalDateTime", "writeLocalDateTime"}),
+            Map.entry("java.time.OffsetDateTime", new String[]{"readOffsetDateTime", "writeOffsetDateTime"}),
+            Map.entry("java.time.Instant", new String[]{"readInstant", "writeInstant"}));
+
+    private final List<String> generatedCodecs = new ArrayList<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(java.util.Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        var annotation = processingEnv.getElementUtils().getTypeElement(GENERATE_CODEC);
+        if (annotation != null) {
+            for (Element element : roundEnv.getElementsAnnotatedWith(annotation)) {
+                if (element.getKind() != ElementKind.RECORD) {
+                    error(element, "@GenerateCodec is only supported on records");
+                    continue;
+                }
+                generate((TypeElement) element);
+            }
+        }
+        if (roundEnv.processingOver() && !generatedCodecs.isEmpty()) {
+            writeServices();
+        }
+        return true;
+    }
+
+    private void generate(TypeElement record) {
+        var packageName = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        var recordName = record.getQualifiedName().toString();
+        var codecName = codecSimpleName(record);
+
+        // all the components are checked upfront, the generation below only meets supported types.
+        var components = new LinkedHashMap<String, TypeMirror>();
+        boolean supported = true;
+        for (RecordComponentElement component : record.getRecordComponents()) {
+            supported &= checkSupported(component, component.asType());
+            components.put(component.getSimpleName().toString(), component.asType());
+        }
+        if (!supported) {
+            return;
+        }
+
+        var source = new StringBuilder();
+        source.append("package ").append(packageName).append(";\n\n");
+        source.append("import com.fasterxml.jackson.core.JsonGenerator;\n");
+        source.append("import com.fasterxml.jackson.core.JsonParser;\n");
+        source.append("import com.fasterxml.jackson.core.JsonToken;\n");
+        source.append("import ").append(RECORD_CODECS).append(";\n");
+        source.append("import ").append(STRING_DEDUPLICATION).append(";\n\n");
+        source.append("import java.io.IOException;\n\n");
+        source.append("@javax.annotation.processing.Generated(\"").append(getClass().getName()).append("\")\n");
+        source.append("public final class ").append(codecName)
+                .append(" implements ").append(RECORD_CODEC).append("<").append(recordName).append("> {\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public Class<").append(recordName).append("> type() {\n");
+        source.append("        return ").append(recordName).append(".class;\n");
+        source.append("    }\n\n");
+
+        // read, unknown properties are skipped, missing ones are left to their default value.
+        source.append("    @Override\n");
+        source.append("    public ").append(recordName).append(" read(JsonParser parser) throws IOException {\n");
+        source.append("        return read(parser, StringDeduplication.NONE);\n");
+        source.append("    }\n\n");
+
+        source.append("    @Override\n");
+        source.append("    public ").append(recordName)
+                .append(" read(JsonParser parser, StringDeduplication deduplication) throws IOException {\n");
+        source.append("        if (!RecordCodecs.startObject(parser)) {\n");
+        source.append("            return null;\n");
+        source.append("        }\n");
+        // the components are read into $-prefixed locals, a component cannot shadow the parameters,
+        // the locals or the type names of the generated code, eg. a component named parser or field.
+        for (var component : components.entrySet()) {
+            source.append("        ").append(typeName(component.getValue())).append(" ").append(local(component.getKey()))
+                    .append(" = ").append(defaultValue(component.getValue())).append(";\n");
+        }
+        source.append("        while (parser.nextToken() == JsonToken.FIELD_NAME) {\n");
+        source.append("            var field = parser.currentName();\n");
+        source.append("            parser.nextToken();\n");
+        source.append("            switch (field) {\n");
+        for (var component : components.entrySet()) {
+            var reader = readExpression(record, component.getKey(), component.getValue(), "parser", 0);
+            source.append("                case \"").append(component.getKey()).append("\" -> ")
+                    .append(local(component.getKey())).append(" = ").append(reader).append(";\n");
+        }
+        source.append("                default -> parser.skipChildren();\n");
+        source.append("            }\n");
+        source.append("        }\n");
+        source.append("        return new ").append(recordName).append("(")
+                .append(String.join(", ", components.keySet().stream().map(RecordCodecProcessor::local).toList()))
+                .append(");\n");
+        source.append("    }\n\n");
+
+        // write, the components in declaration order, nulls included, as the default ObjectMapper does.
+        source.append("    @Override\n");
+        source.append("    public void write(JsonGenerator generator, ").append(recordName).append(" value) throws IOException {\n");
+        source.append("        if (value == null) {\n");
+        source.append("            generator.writeNull();\n");
+        source.append("            return;\n");
+        source.append("        }\n");
+        source.append("        generator.writeStartObject();\n");
+        for (var component : components.entrySet()) {
+            source.append("        generator.writeFieldName(\"").append(component.getKey()).append("\");\n");
+            source.append("        ").append(writeStatement(component.getValue(), "generator",
+                    "value." + component.getKey() + "()", 0)).append("\n");
+        }
+        source.append("        generator.writeEndObject();\n");
+        source.append("    }\n");
+        source.append("}\n");
+
+        var qualifiedCodecName = packageName.isEmpty() ? codecName : packageName + "." + codecName;
+        try (var writer = new PrintWriter(processingEnv.getFiler().createSourceFile(qualifiedCodecName, record).openWriter())) {
+            writer.print(source);
+        } catch (IOException e) {
+            error(record, "Failed to generate " + qualifiedCodecName + ": " + e.getMessage());
+            return;
+        }
+        generatedCodecs.add(qualifiedCodecName);
+    }
+
+    // a scalar, a List of supported elements or a @GenerateCodec record, an error is reported on the component otherwise.
+    private boolean checkSupported(RecordComponentElement component, TypeMirror type) {
+        if (SCALARS.containsKey(scalarName(type)) || generatedRecord(type) != null) {
+            return true;
+        }
+        var elementType = listElementType(type);
+        if (elementType != null) {
+            return checkSupported(component, elementType);
+        }
+        error(component, "Unsupported record component type " + type + " for @GenerateCodec");
+        return false;
+    }
+
+    private String readExpression(TypeElement record, String field, TypeMirror type, String parser, int depth) {
+        var scalarName = scalarName(type);
+        if ("java.lang.String".equals(scalarName)) {
+            return "RecordCodecs.readString(" + parser + ", deduplication.forField("
+                    + record.getQualifiedName() + ".class, \"" + field + "\"))";
+        }
+        var scalar = SCALARS.get(scalarName);
+        if (scalar != null) {
+            return "RecordCodecs." + scalar[0] + "(" + parser + ")";
+        }
+        var elementType = listElementType(type);
+        if (elementType != null) {
+            var elementParser = "p" + depth;
+            return "RecordCodecs.readList(" + parser + ", " + elementParser + " -> "
+                    + readExpression(record, field, elementType, elementParser, depth + 1) + ")";
+        }
+        return "new " + qualifiedCodecName(generatedRecord(type)) + "().read(" + parser + ", deduplication)";
+    }
+
+    private String writeStatement(TypeMirror type, String generator, String value, int depth) {
+        switch (type.getKind()) {
+            case INT, LONG, DOUBLE -> {
+                return generator + ".writeNumber(" + value + ");";
+            }
+            case BOOLEAN -> {
+                return generator + ".writeBoolean(" + value + ");";
+            }
+            default -> {
+            }
+        }
+        var scalar = SCALARS.get(scalarName(type));
+        if (scalar != null) {
+            return "RecordCodecs." + scalar[1] + "(" + generator + ", " + value + ");";
+        }
+        var elementType = listElementType(type);
+        if (elementType != null) {
+            var elementGenerator = "g" + depth;
+            var element = "e" + depth;
+            return "RecordCodecs.writeList(" + generator + ", " + value + ", (" + elementGenerator + ", " + element + ") -> "
+                    + writeStatement(elementType, elementGenerator, element, depth + 1).replaceAll(";$", "") + ");";
+        }
+        return "new " + qualifiedCodecName(generatedRecord(type)) + "().write(" + generator + ", " + value + ");";
+    }
+
+    // the primitive keyword or the qualified name of the class, the type-use annotations and type arguments left out.
+    private static String scalarName(TypeMirror type) {
+        if (type.getKind().isPrimitive()) {
+            return type.getKind().name().toLowerCase(Locale.ROOT);
+        }
+        if (type instanceof DeclaredType declared) {
+            return ((TypeElement) declared.asElement()).getQualifiedName().toString();
+        }
+        return null;
+    }
+
+    // the type as written in the generated source, TypeMirror.toString() would print the type-use annotations
+    // before the qualified name, which does not compile.
+    private static String typeName(TypeMirror type) {
+        if (!(type instanceof DeclaredType declared) || declared.getTypeArguments().isEmpty()) {
+            return scalarName(type);
+        }
+        return scalarName(type) + "<" + String.join(", ",
+                declared.getTypeArguments().stream().map(RecordCodecProcessor::typeName).toList()) + ">";
+    }
+
+    private static String local(String component) {
+        return "$" + component;
+    }
+
+    private static String defaultValue(TypeMirror type) {
+        return switch (type.getKind()) {
+            case INT, LONG, DOUBLE -> "0";
+            case BOOLEAN -> "false";
+            default -> "null";
+        };
+    }
+
+    private TypeMirror listElementType(TypeMirror type) {
+        if (type instanceof DeclaredType declared
+                && ((TypeElement) declared.asElement()).getQualifiedName().contentEquals("java.util.List")
+                && declared.getTypeArguments().size() == 1) {
+            return declared.getTypeArguments().get(0);
+        }
+        return null;
+    }
+
+    private TypeElement generatedRecord(TypeMirror type) {
+        if (type instanceof DeclaredType declared
+                && declared.asElement().getKind() == ElementKind.RECORD
+                && declared.asElement().getAnnotationMirrors().stream()
+                .anyMatch(mirror -> ((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName()
+                        .contentEquals(GENERATE_CODEC))) {
+            return (TypeElement) declared.asElement();
+        }
+        return null;
+    }
+
+    // nested records are flattened, eg. GetGreetingsResponse.Result -> GetGreetingsResponse_ResultCodec.
+    private String codecSimpleName(TypeElement record) {
+        var name = new StringBuilder(record.getSimpleName());
+        for (var enclosing = record.getEnclosingElement();
+             enclosing.getKind().isClass() || enclosing.getKind().isInterface();
+             enclosing = enclosing.getEnclosingElement()) {
+            name.insert(0, enclosing.getSimpleName() + "_");
+        }
+        return name.append("Codec").toString();
+    }
+
+    private String qualifiedCodecName(TypeElement record) {
+        var packageName = processingEnv.getElementUtils().getPackageOf(record).getQualifiedName().toString();
+        return packageName.isEmpty() ? codecSimpleName(record) : packageName + "." + codecSimpleName(record);
+    }
+
+    private void writeServices() {
+        try (var writer = new PrintWriter(processingEnv.getFiler()
+                .createResource(StandardLocation.CLASS_OUTPUT, "", "META-INF/services/" + RECORD_CODEC)
+                .openWriter())) {
+            generatedCodecs.forEach(writer::println);
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR,
+                    "Failed to register the generated codecs: " + e.getMessage());
+        }
+    }
+
+    private void error(Element element, String message) {
+        processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, message, element);
+    }
+}
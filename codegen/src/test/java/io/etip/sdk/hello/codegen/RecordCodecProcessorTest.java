@@ -0,0 +1,169 @@
+package io.etip.sdk.hello.codegen;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.IOException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Compiles @GenerateCodec records with the processor against the lib and Jackson classes of the test runtime,
+// the generated codecs are compiled in the same run, so a generated source that does not compile fails the test.
+class RecordCodecProcessorTest {
+
+    @TempDir
+    Path output;
+
+    @Test
+    void generatesTheCodecsOfTheSupportedComponents() throws IOException {
+        var result = compile(source("test.Page", """
+                package test;
+
+                import io.etip.sdk.hello.GenerateCodec;
+                import java.time.Instant;
+                import java.time.LocalDate;
+                import java.time.LocalDateTime;
+                import java.time.OffsetDateTime;
+                import java.util.List;
+
+                @GenerateCodec
+                public record Page(String title, int size, long total, double score, boolean last,
+                                   Integer limit, Long offset, Double weight, Boolean cached,
+                                   LocalDate day, LocalDateTime createdAt, OffsetDateTime updatedAt, Instant expiresAt,
+                                   List<String> tags, List<List<Integer>> matrix, Item first, List<Item> items) {
+
+                    @GenerateCodec
+                    public record Item(String name) {
+                    }
+                }
+                """));
+
+        assertTrue(result.errors().isEmpty(), result.errors()::toString);
+        assertTrue(Files.exists(output.resolve("test/PageCodec.class")));
+        assertTrue(Files.exists(output.resolve("test/Page_ItemCodec.class")));
+        assertEquals(List.of("test.PageCodec", "test.Page_ItemCodec"),
+                Files.readAllLines(output.resolve("META-INF/services/io.etip.sdk.hello.RecordCodec")).stream().sorted().toList());
+    }
+
+    @Test
+    void componentsMayBeNamedAfterTheGeneratedLocalsAndTypes() {
+        var result = compile(source("test.Clash", """
+                package test;
+
+                @io.etip.sdk.hello.GenerateCodec
+                public record Clash(String parser, String field, int deduplication, java.util.List<String> p0,
+                                    String value, String generator, String RecordCodecs, String JsonToken) {
+                }
+                """));
+
+        assertTrue(result.errors().isEmpty(), result.errors()::toString);
+    }
+
+    @Test
+    void typeUseAnnotationsAreIgnored() {
+        var result = compile(source("test.Nullable", """
+                package test;
+
+                import java.lang.annotation.ElementType;
+                import java.lang.annotation.Target;
+
+                @Target(ElementType.TYPE_USE)
+                public @interface Nullable {
+                }
+                """), source("test.Annotated", """
+                package test;
+
+                @io.etip.sdk.hello.GenerateCodec
+                public record Annotated(@Nullable String name, java.util.List<@Nullable Integer> counts) {
+                }
+                """));
+
+        assertTrue(result.errors().isEmpty(), result.errors()::toString);
+        assertTrue(Files.exists(output.resolve("test/AnnotatedCodec.class")));
+    }
+
+    @Test
+    void unsupportedComponentsAreReportedOnTheComponent() {
+        var result = compile(source("test.Unsupported", """
+                package test;
+
+                @io.etip.sdk.hello.GenerateCodec
+                public record Unsupported(String name, java.util.Map<String, String> labels, java.util.List<Object> values) {
+                }
+                """));
+
+        assertEquals(2, result.errors().size(), result.errors()::toString);
+        assertTrue(result.errors().get(0).contains("java.util.Map<java.lang.String,java.lang.String>"), result.errors()::toString);
+        assertTrue(result.errors().get(1).contains("java.lang.Object"), result.errors()::toString);
+        assertFalse(Files.exists(output.resolve("test/UnsupportedCodec.class")));
+    }
+
+    @Test
+    void onlyRecordsAreSupported() {
+        var result = compile(source("test.NotARecord", """
+                package test;
+
+                @io.etip.sdk.hello.GenerateCodec
+                public class NotARecord {
+                }
+                """));
+
+        assertEquals(List.of("@GenerateCodec is only supported on records"), result.errors());
+    }
+
+    private record Result(List<String> errors) {
+    }
+
+    private Result compile(JavaFileObject... sources) {
+        var compiler = ToolProvider.getSystemJavaCompiler();
+        var diagnostics = new DiagnosticCollector<JavaFileObject>();
+        try (var fileManager = compiler.getStandardFileManager(diagnostics, Locale.ROOT, null)) {
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(output));
+            fileManager.setLocationFromPaths(StandardLocation.SOURCE_OUTPUT, List.of(output));
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_PATH,
+                    List.of(location("io.etip.sdk.hello.RecordCodec"), location("com.fasterxml.jackson.core.JsonParser")));
+            var task = compiler.getTask(null, fileManager, diagnostics, null, null, List.of(sources));
+            task.setProcessors(List.of(new RecordCodecProcessor()));
+            task.call();
+        } catch (IOException e) {
+            throw new AssertionError(e);
+        }
+        return new Result(diagnostics.getDiagnostics().stream()
+                .filter(diagnostic -> diagnostic.getKind() == Diagnostic.Kind.ERROR)
+                .map(diagnostic -> diagnostic.getMessage(Locale.ROOT))
+                .toList());
+    }
+
+    // the jar or the classes directory of the class on the test runtime classpath.
+    private static Path location(String className) {
+        try {
+            return Path.of(Class.forName(className).getProtectionDomain().getCodeSource().getLocation().toURI());
+        } catch (ReflectiveOperationException | URISyntaxException e) {
+            throw new AssertionError(e);
+        }
+    }
+
+    private static JavaFileObject source(String className, String code) {
+        var uri = URI.create("string:///" + className.replace('.', '/') + JavaFileObject.Kind.SOURCE.extension);
+        return new SimpleJavaFileObject(uri, JavaFileObject.Kind.SOURCE) {
+            @Override
+            public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+                return code;
+            }
+        };
+    }
+}
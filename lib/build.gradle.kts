@@ -8,6 +8,9 @@
 plugins {
     // Apply the java-library plugin for API and implementation separation.
     `java-library`
+
+    // JMH benchmarks under src/jmh, run them via `./gradlew jmh`.
+    alias(libs.plugins.jmh)
 }
 
 repositories {
@@ -16,6 +19,9 @@ repositories {
 }
 
 dependencies {
+    // Generates the RecordCodecs of the @GenerateCodec records.
+    annotationProcessor(project(":codegen"))
+
     // Okhttp
     implementation(libs.bundles.okhttp)
 
@@ -29,9 +35,27 @@ dependencies {
     // Jakarta EE JSON-B implementation
     implementation(libs.yasson)
 
+    // Caffeine, the response cache
+    implementation(libs.caffeine)
+
+    // zstd response decoding, optional, the applications opting in to zstd add zstd-jni themselves
+    compileOnly(libs.zstd)
+
     // Use JUnit Jupiter for testing.
     testImplementation(libs.junit.jupiter)
+    testImplementation(libs.okhttpMockWebServer)
+    testImplementation(libs.zstd)
     testRuntimeOnly("org.junit.platform:junit-platform-launcher")
+
+    // Local mock server for the benchmarks.
+    jmhImplementation(libs.okhttpMockWebServer)
+
+    // The codecs compared by CodecBenchmark, declared here as well, so the main dependencies can be dropped.
+    jmhImplementation(libs.gson)
+    jmhImplementation(libs.yasson)
+
+    // The compression algorithms compared by CompressionBenchmark.
+    jmhImplementation(libs.zstd)
 }
 
 // Apply a specific Java toolchain to ease working on different environments.
@@ -41,7 +65,33 @@ java {
     }
 }
 
+// The JDK 21 profile, the library still targets Java 17, but tests and benchmarks run on a JDK 21 runtime,
+// which enables the virtual-thread execution mode of HelloClient.
+// Run `./gradlew testJdk21` or `./gradlew jmh -Pjdk21`.
+val jdk21Launcher = javaToolchains.launcherFor {
+    languageVersion = JavaLanguageVersion.of(21)
+}
+
 tasks.named<Test>("test") {
     // Use JUnit Platform for unit tests.
     useJUnitPlatform()
 }
+
+tasks.register<Test>("testJdk21") {
+    description = "Runs the unit tests on a JDK 21 runtime."
+    group = "verification"
+    useJUnitPlatform()
+    javaLauncher = jdk21Launcher
+    testClassesDirs = sourceSets.test.get().output.classesDirs
+    classpath = sourceSets.test.get().runtimeClasspath
+}
+
+jmh {
+    jmhVersion = libs.versions.jmh
+    // allocation per operation (gc.alloc.rate.norm) next to the time of every benchmark.
+    profilers = listOf("gc")
+    resultFormat = "JSON"
+    if (providers.gradleProperty("jdk21").isPresent) {
+        jvm = jdk21Launcher.map { it.executablePath.asFile.absolutePath }
+    }
+}
@@ -0,0 +1,82 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.OkHttpClient;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+// Latency of an authenticated call against a backend that answers 401 without credentials and takes 2ms per response,
+// challenge mode (an OkHttp Authenticator, the former default) pays two round trips, preemptive mode one.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+@Fork(1)
+public class AuthModeBenchmark {
+
+    private static final String SECRET_KEY = "my-secret-key";
+
+    @Param({"challenge", "preemptive"})
+    public String auth;
+
+    private MockWebServer server;
+    private HelloClient client;
+    private final GetGreetingRequest request = new GetGreetingRequest("Hantsy");
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest recordedRequest) {
+                var response = SECRET_KEY.equals(recordedRequest.getHeaders().get("Authorization"))
+                        ? new MockResponse.Builder().body(GreetingsMockServer.GREETING_JSON)
+                        : new MockResponse.Builder().code(401).addHeader("WWW-Authenticate", "SecretKey");
+                return response.headersDelay(2, TimeUnit.MILLISECONDS).build();
+            }
+        });
+        server.start();
+
+        var builder = HelloClient.newBuilder()
+                .baseUri(server.url("/api").toString());
+        if ("challenge".equals(auth)) {
+            builder.httpClient(new OkHttpClient.Builder()
+                    .authenticator((route, response) -> response.request().newBuilder().header("Authorization", SECRET_KEY).build())
+                    .build());
+        } else {
+            builder.secretKey(SECRET_KEY);
+        }
+        client = builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.httpClient().connectionPool().evictAll();
+        server.close();
+    }
+
+    @Benchmark
+    public GetGreetingResponse getGreeting() {
+        return client.greetings().getGreeting(request);
+    }
+}
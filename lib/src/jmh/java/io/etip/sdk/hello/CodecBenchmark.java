@@ -0,0 +1,84 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// Throughput, average latency and (with the gc profiler, enabled in the build) allocation per operation
+// of the JsonEncoder/JsonDecoder implementations, for a single GetGreetingResponse and a page of 1000 greetings.
+// ./gradlew jmh -Pjmh.includes=CodecBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CodecBenchmark {
+
+    @Param({"jackson", "gson", "yasson"})
+    public String codec;
+
+    @Param({"greeting", "page"})
+    public String payload;
+
+    private JsonCodec jsonCodec;
+    private Object value;
+    private Class<?> type;
+    private byte[] json;
+
+    @Setup
+    public void setUp() {
+        jsonCodec = switch (codec) {
+            case "jackson" -> JsonCodec.defaults();
+            case "gson" -> GsonCodec.create();
+            case "yasson" -> JsonbCodec.create();
+            default -> throw new IllegalArgumentException(codec);
+        };
+        if ("greeting".equals(payload)) {
+            value = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+            type = GetGreetingResponse.class;
+        } else {
+            value = GreetingPage.of(1000);
+            type = GreetingPage.class;
+        }
+        // the bytes every codec has to read, written by the shared default codec.
+        json = JsonCodec.defaults().encoder().encode(value).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public void encode(Blackhole blackhole) throws IOException {
+        jsonCodec.encoder().encode(value, new OutputStream() {
+            @Override
+            public void write(int b) {
+                blackhole.consume(b);
+            }
+
+            @Override
+            public void write(byte[] b, int off, int len) {
+                blackhole.consume(len);
+            }
+        });
+    }
+
+    @Benchmark
+    public Object decode() {
+        return jsonCodec.decoder().decode(new ByteArrayInputStream(json), type);
+    }
+}
@@ -0,0 +1,79 @@
+package io.etip.sdk.hello;
+
+import com.github.luben.zstd.ZstdOutputStream;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+// The CPU vs. bytes trade-off of the content encodings, compressing and decompressing pages of greetings.
+// ./gradlew jmh -Pjmh.includes=CompressionBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompressionBenchmark {
+
+    @Param({"gzip", "deflate", "zstd"})
+    public String encoding;
+
+    // greetings per page, about 64 bytes each.
+    @Param({"16", "1000", "16000"})
+    public int size;
+
+    private Decompressor decompressor;
+    private byte[] json;
+    private byte[] compressed;
+
+    @Setup
+    public void setUp() throws IOException {
+        decompressor = Decompressors.available().get(encoding);
+        var buffer = new Buffer();
+        JsonCodec.defaults().encoder().encode(GreetingPage.of(size), buffer);
+        json = buffer.readByteArray();
+        compressed = compress();
+    }
+
+    @Benchmark
+    public byte[] compress() throws IOException {
+        var buffer = new Buffer();
+        try (var sink = compressingSink(buffer)) {
+            sink.write(json);
+        }
+        return buffer.readByteArray();
+    }
+
+    @Benchmark
+    public byte[] decompress() throws IOException {
+        try (var source = Okio.buffer(decompressor.decompress(new Buffer().write(compressed)))) {
+            return source.readByteArray();
+        }
+    }
+
+    private BufferedSink compressingSink(Buffer buffer) throws IOException {
+        return switch (encoding) {
+            case "gzip" -> Okio.buffer(new GzipSink(buffer));
+            case "deflate" -> Okio.buffer(Okio.sink(new DeflaterOutputStream(buffer.outputStream(), new Deflater())));
+            case "zstd" -> Okio.buffer(Okio.sink(new ZstdOutputStream(buffer.outputStream())));
+            default -> throw new IllegalArgumentException(encoding);
+        };
+    }
+}
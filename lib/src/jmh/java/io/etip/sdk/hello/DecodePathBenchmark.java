@@ -0,0 +1,58 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// Decoding a response body via an intermediate String (the former `body().string()` path)
+// vs. streaming the UTF-8 bytes of the body source into the parser.
+// Run with the GC profiler to compare the allocation: ./gradlew jmh -Pjmh.includes=DecodePathBenchmark -Pjmh.profilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DecodePathBenchmark {
+
+    @Param({"small", "large"})
+    public String payload;
+
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+    private byte[] body;
+
+    @Setup
+    public void setUp() {
+        // the large payload carries a 256KB message.
+        var message = "small".equals(payload) ? "Hello, Hantsy" : "Hello, Hantsy ".repeat(256 * 1024 / 14);
+        body = ("{\"message\":\"" + message + "\",\"createdAt\":\"2024-08-01T10:15:30\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public GetGreetingResponse viaString() throws IOException {
+        var source = new Buffer().write(body);
+        return objectMapper.readValue(source.readUtf8(), GetGreetingResponse.class);
+    }
+
+    @Benchmark
+    public GetGreetingResponse viaSource() throws IOException {
+        var source = new Buffer().write(body);
+        return objectMapper.readValue(source.inputStream(), GetGreetingResponse.class);
+    }
+}
@@ -0,0 +1,82 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+// The generated RecordCodec of GetGreetingResponse vs. the databind ObjectReader.
+// firstDecode* measure the cold start, each fork is a fresh JVM running a single decode, including the codec setup,
+// decode* measure the steady-state throughput.
+// ./gradlew jmh -Pjmh.includes=GeneratedCodecBenchmark
+public class GeneratedCodecBenchmark {
+
+    private static final byte[] BODY = "{\"message\":\"Hello, Hantsy\",\"createdAt\":\"2024-08-01T10:15:30\"}"
+            .getBytes(StandardCharsets.UTF_8);
+
+    // the generated codecs only, a type without one fails rather than silently falling back to databind.
+    private static JsonDecoder generatedDecoder() {
+        return new RecordCodecDecoder(new JsonFactory(), new JsonDecoder() {
+            @Override
+            public <T> T decode(String json, Class<T> clazz) {
+                throw new HelloException("No generated codec for " + clazz.getName());
+            }
+        });
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public GetGreetingResponse firstDecodeDatabind() {
+        return new ObjectMapperDecoder(JsonCodec.defaultObjectMapper()).decode(BODY, GetGreetingResponse.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public GetGreetingResponse firstDecodeGenerated() {
+        return generatedDecoder().decode(BODY, GetGreetingResponse.class);
+    }
+
+    @State(Scope.Benchmark)
+    public static class Decoders {
+        final JsonDecoder databind = new ObjectMapperDecoder(JsonCodec.defaultObjectMapper());
+        final JsonDecoder generated = generatedDecoder();
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public GetGreetingResponse decodeDatabind(Decoders decoders) {
+        return decoders.databind.decode(BODY, GetGreetingResponse.class);
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.Throughput)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Warmup(iterations = 3, time = 2)
+    @Measurement(iterations = 5, time = 2)
+    @Fork(1)
+    public GetGreetingResponse decodeGenerated(Decoders decoders) {
+        return decoders.generated.decode(BODY, GetGreetingResponse.class);
+    }
+}
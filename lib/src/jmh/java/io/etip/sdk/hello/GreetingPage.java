@@ -0,0 +1,19 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// A larger synthetic payload, a page of greetings as a list endpoint would return it.
+public record GreetingPage(int page, long total, List<GetGreetingResponse> items) {
+
+    static GreetingPage of(int size) {
+        var createdAt = LocalDateTime.of(2024, 8, 1, 10, 15, 30);
+        var items = IntStream.range(0, size)
+                .mapToObj(i -> new GetGreetingResponse("Hello, name-" + i, createdAt.plusSeconds(i)))
+                .toList();
+        return new GreetingPage(1, size, items);
+    }
+}
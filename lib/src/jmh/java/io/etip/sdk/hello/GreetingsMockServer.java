@@ -0,0 +1,51 @@
+package io.etip.sdk.hello;
+
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// A local greetings backend shared by the benchmarks.
+final class GreetingsMockServer {
+
+    static final String GREETING_JSON = """
+            {"message":"Hello, Hantsy","createdAt":"2024-08-01T10:15:30"}
+            """;
+
+    private GreetingsMockServer() {
+    }
+
+    // speaks h2c, so thousands of concurrent calls are multiplexed instead of opening thousands of sockets.
+    static MockWebServer start(Duration latency) throws IOException {
+        return start(latency, Protocol.H2_PRIOR_KNOWLEDGE);
+    }
+
+    static MockWebServer start(Duration latency, Protocol protocol) throws IOException {
+        var server = new MockWebServer();
+        server.setProtocols(List.of(protocol));
+        var response = new MockResponse.Builder()
+                .addHeader("Content-Type", "application/json")
+                .body(GREETING_JSON)
+                .headersDelay(latency.toMillis(), TimeUnit.MILLISECONDS)
+                .build();
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return response;
+            }
+        });
+        server.start();
+        return server;
+    }
+
+    static OkHttpClient.Builder h2cHttpClient() {
+        return new OkHttpClient.Builder().protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+    }
+}
@@ -0,0 +1,82 @@
+package io.etip.sdk.hello;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.TypeAdapter;
+import com.google.gson.stream.JsonReader;
+import com.google.gson.stream.JsonWriter;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+// Gson codec of the benchmarks, java.time needs an explicit adapter with Gson.
+final class GsonCodec {
+
+    private GsonCodec() {
+    }
+
+    static JsonCodec create() {
+        var gson = new GsonBuilder()
+                .registerTypeAdapter(LocalDateTime.class, new LocalDateTimeAdapter().nullSafe())
+                .create();
+        return JsonCodec.newBuilder()
+                .encoder(new GsonEncoder(gson))
+                .decoder(new GsonDecoder(gson))
+                .build();
+    }
+
+    static class GsonEncoder implements JsonEncoder {
+        private final Gson gson;
+
+        GsonEncoder(Gson gson) {
+            this.gson = gson;
+        }
+
+        @Override
+        public String encode(Object obj) {
+            return gson.toJson(obj);
+        }
+
+        @Override
+        public void encode(Object obj, OutputStream out) throws IOException {
+            var writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+            gson.toJson(obj, writer);
+            writer.flush();
+        }
+    }
+
+    static class GsonDecoder implements JsonDecoder {
+        private final Gson gson;
+
+        GsonDecoder(Gson gson) {
+            this.gson = gson;
+        }
+
+        @Override
+        public <T> T decode(String json, Class<T> clazz) {
+            return gson.fromJson(json, clazz);
+        }
+
+        @Override
+        public <T> T decode(InputStream json, Class<T> clazz) {
+            return gson.fromJson(new InputStreamReader(json, StandardCharsets.UTF_8), clazz);
+        }
+    }
+
+    static class LocalDateTimeAdapter extends TypeAdapter<LocalDateTime> {
+        @Override
+        public void write(JsonWriter out, LocalDateTime value) throws IOException {
+            out.value(value.toString());
+        }
+
+        @Override
+        public LocalDateTime read(JsonReader in) throws IOException {
+            return LocalDateTime.parse(in.nextString());
+        }
+    }
+}
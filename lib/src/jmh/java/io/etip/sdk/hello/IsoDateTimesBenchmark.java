@@ -0,0 +1,65 @@
+package io.etip.sdk.hello;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.concurrent.TimeUnit;
+
+// DateTimeFormatter.ISO_LOCAL_DATE_TIME vs. IsoDateTimes, parsing and formatting a createdAt value,
+// the input is the char buffer of the parser, as Jackson exposes it, the formatter needs a String of it first.
+// ./gradlew jmh -Pjmh.includes=IsoDateTimesBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IsoDateTimesBenchmark {
+
+    @Param({"2024-08-01T10:15:30", "2024-08-01T10:15:30.123456"})
+    public String createdAt;
+
+    private char[] buffer;
+    private LocalDateTime value;
+
+    @Setup
+    public void setUp() {
+        // the value sits in the middle of a larger buffer, as in the parser.
+        buffer = ("{\"createdAt\":\"" + createdAt + "\"}").toCharArray();
+        value = LocalDateTime.parse(createdAt);
+    }
+
+    @Benchmark
+    public LocalDateTime parseFormatter() {
+        return LocalDateTime.parse(new String(buffer, 14, createdAt.length()), DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    @Benchmark
+    public LocalDateTime parseIsoDateTimes() {
+        return IsoDateTimes.parseLocalDateTime(buffer, 14, createdAt.length());
+    }
+
+    @Benchmark
+    public String formatFormatter() {
+        return DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+    }
+
+    // the chars are written to the generator as they are, no String is created.
+    @Benchmark
+    public char[] formatIsoDateTimes() {
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        IsoDateTimes.formatLocalDateTime(value, chars, 0);
+        return chars;
+    }
+}
@@ -0,0 +1,58 @@
+package io.etip.sdk.hello;
+
+import jakarta.json.bind.Jsonb;
+import jakarta.json.bind.JsonbBuilder;
+
+import java.io.InputStream;
+import java.io.OutputStream;
+
+// JSON-B (Eclipse Yasson) codec of the benchmarks.
+final class JsonbCodec {
+
+    private JsonbCodec() {
+    }
+
+    static JsonCodec create() {
+        var jsonb = JsonbBuilder.create();
+        return JsonCodec.newBuilder()
+                .encoder(new JsonbEncoder(jsonb))
+                .decoder(new JsonbDecoder(jsonb))
+                .build();
+    }
+
+    static class JsonbEncoder implements JsonEncoder {
+        private final Jsonb jsonb;
+
+        JsonbEncoder(Jsonb jsonb) {
+            this.jsonb = jsonb;
+        }
+
+        @Override
+        public String encode(Object obj) {
+            return jsonb.toJson(obj);
+        }
+
+        @Override
+        public void encode(Object obj, OutputStream out) {
+            jsonb.toJson(obj, out);
+        }
+    }
+
+    static class JsonbDecoder implements JsonDecoder {
+        private final Jsonb jsonb;
+
+        JsonbDecoder(Jsonb jsonb) {
+            this.jsonb = jsonb;
+        }
+
+        @Override
+        public <T> T decode(String json, Class<T> clazz) {
+            return jsonb.fromJson(json, clazz);
+        }
+
+        @Override
+        public <T> T decode(InputStream json, Class<T> clazz) {
+            return jsonb.fromJson(json, clazz);
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import mockwebserver3.MockWebServer;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// A simulation of regional replicas with skewed latencies, three local backends answering in 5ms, 10ms and 50ms,
+// 32 concurrent callers. The power of two choices on the EWMA latency and the outstanding calls against a random
+// choice per call, as an L4 balancer would do. The sample mode reports the latency percentiles of the calls,
+// the throughput mode the calls each backend served as secondary results.
+// ./gradlew jmh -Pjmh.includes=LoadBalancingBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.SampleTime, Mode.Throughput})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+@Threads(32)
+public class LoadBalancingBenchmark {
+    private static final List<Duration> LATENCIES = List.of(Duration.ofMillis(5), Duration.ofMillis(10), Duration.ofMillis(50));
+
+    @Param({"p2c", "random"})
+    public String balancer;
+
+    // the port of the backend which served the last call of the benchmark thread, set by a network interceptor.
+    private static final ThreadLocal<Integer> SERVED_BY = new ThreadLocal<>();
+
+    private final List<MockWebServer> servers = new ArrayList<>();
+    private HelloClient client;
+
+    // the calls each backend served, aux counters are reported by the throughput mode only.
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class BackendCalls {
+        public long backend5ms;
+        public long backend10ms;
+        public long backend50ms;
+
+        @Setup(Level.Iteration)
+        public void reset() {
+            backend5ms = 0;
+            backend10ms = 0;
+            backend50ms = 0;
+        }
+
+        void served(LoadBalancingBenchmark benchmark) {
+            int port = SERVED_BY.get();
+            if (port == benchmark.servers.get(0).getPort()) {
+                backend5ms++;
+            } else if (port == benchmark.servers.get(1).getPort()) {
+                backend10ms++;
+            } else {
+                backend50ms++;
+            }
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        for (var latency : LATENCIES) {
+            servers.add(GreetingsMockServer.start(latency));
+        }
+        var baseUris = servers.stream().map(server -> server.url("/api").toString()).toArray(String[]::new);
+        var httpClient = GreetingsMockServer.h2cHttpClient()
+                .addNetworkInterceptor(chain -> {
+                    SERVED_BY.set(chain.request().url().port());
+                    return chain.proceed(chain.request());
+                });
+        var builder = HelloClient.newBuilder();
+        if ("p2c".equals(balancer)) {
+            builder.baseUris(baseUris);
+        } else {
+            // the endpoints target the first backend, rebased on a random one.
+            httpClient.addInterceptor(chain -> {
+                var server = servers.get(ThreadLocalRandom.current().nextInt(servers.size()));
+                var url = chain.request().url().newBuilder().port(server.getPort()).build();
+                return chain.proceed(chain.request().newBuilder().url(url).build());
+            });
+            builder.baseUri(baseUris[0]);
+        }
+        client = builder.httpClient(httpClient.build()).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.httpClient().dispatcher().executorService().shutdown();
+        client.httpClient().connectionPool().evictAll();
+        for (var server : servers) {
+            server.close();
+        }
+    }
+
+    @Benchmark
+    public GetGreetingResponse getGreeting(BackendCalls calls) {
+        var response = client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+        calls.served(this);
+        return response;
+    }
+}
@@ -0,0 +1,68 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import mockwebserver3.MockWebServer;
+import okhttp3.Protocol;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.IntStream;
+
+// Load test of the dispatcher's per-host limit, a batch of 1000 async calls against one HTTP/1.1 backend
+// with 20ms latency, the in-flight calls are capped by maxRequestsPerHost only.
+// 5 is the stock OkHttp limit, 64 the default of HelloClient.Builder.
+// The score is batches per second, multiply it by 1000 to get calls per second.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class MaxRequestsPerHostBenchmark {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Param({"5", "16", "64", "256"})
+    public int maxRequestsPerHost;
+
+    private MockWebServer server;
+    private HelloClient client;
+    private List<GetGreetingRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        server = GreetingsMockServer.start(Duration.ofMillis(20), Protocol.HTTP_1_1);
+        client = HelloClient.newBuilder()
+                .baseUri(server.url("/api").toString())
+                .maxRequests(Math.max(maxRequestsPerHost, HelloClient.Builder.DEFAULT_MAX_REQUESTS))
+                .maxRequestsPerHost(maxRequestsPerHost)
+                .maxIdleConnections(maxRequestsPerHost)
+                .build();
+        requests = IntStream.range(0, BATCH_SIZE).mapToObj(i -> new GetGreetingRequest("name-" + i)).toList();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        client.httpClient().dispatcher().executorService().shutdown();
+        client.httpClient().connectionPool().evictAll();
+        server.close();
+    }
+
+    // the bulk api lets every call in, so the dispatcher is the only limit.
+    @Benchmark
+    public int asyncBatch() {
+        return client.greetings().getGreetings(requests, BATCH_SIZE).results().size();
+    }
+}
@@ -0,0 +1,79 @@
+package io.etip.sdk.hello;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// The permit path of the rate limiter under contention, all the threads share one bucket, the lock-free
+// TokenBucket against the same algorithm behind a lock. The rate is high enough that most reservations succeed,
+// as for a client well below its quota, so the benchmark measures the bucket and not the rejections.
+// ./gradlew jmh -Pjmh.includes=RateLimiterBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@Threads(16)
+public class RateLimiterBenchmark {
+    private static final double PERMITS_PER_SECOND = 1e9;
+    private static final int BURST = 1_000_000;
+
+    private TokenBucket lockFree;
+    private LockingTokenBucket locking;
+
+    @Setup
+    public void setUp() {
+        lockFree = new TokenBucket(PERMITS_PER_SECOND, BURST, System.nanoTime());
+        locking = new LockingTokenBucket(PERMITS_PER_SECOND, BURST, System.nanoTime());
+    }
+
+    @Benchmark
+    public long lockFree() {
+        return lockFree.reserve(System.nanoTime(), 0);
+    }
+
+    @Benchmark
+    public long locking() {
+        return locking.reserve(System.nanoTime(), 0);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public long lockFreeUncontended() {
+        return lockFree.reserve(System.nanoTime(), 0);
+    }
+
+    // the same bucket with a synchronized reserve, the baseline.
+    static final class LockingTokenBucket {
+        private final long intervalNanos;
+        private final long burstNanos;
+        private long arrival;
+
+        LockingTokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+            this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / permitsPerSecond));
+            this.burstNanos = intervalNanos * burst;
+            this.arrival = nowNanos;
+        }
+
+        synchronized long reserve(long nowNanos, long maxWaitNanos) {
+            long next = Math.max(arrival, nowNanos) + intervalNanos;
+            long wait = next - burstNanos - nowNanos;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            arrival = next;
+            return Math.max(0, wait);
+        }
+    }
+}
@@ -0,0 +1,82 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// The heap footprint of 100k decoded responses kept alive, as in a long-lived cache, with and without deduplicating
+// the message field, the messages repeat over `distinct` values. The retainedBytes counter is the heap growth
+// after a full GC, the memory saved is the difference between the two modes.
+// ./gradlew jmh -Pjmh.includes=StringDeduplicationBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2)
+@Measurement(iterations = 5)
+@Fork(1)
+public class StringDeduplicationBenchmark {
+    private static final int RESPONSES = 100_000;
+
+    @Param({"none", "message"})
+    public String deduplication;
+
+    @Param({"100", "10000"})
+    public int distinct;
+
+    private JsonDecoder decoder;
+    private byte[][] bodies;
+
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Footprint {
+        public long retainedBytes;
+    }
+
+    @Setup
+    public void setUp() {
+        decoder = "none".equals(deduplication)
+                ? JsonCodec.defaults().decoder()
+                : JsonCodec.defaults(StringDeduplication.newBuilder()
+                        .field(GetGreetingResponse.class, "message")
+                        .maxEntries(16_384)
+                        .build()).decoder();
+        bodies = new byte[distinct][];
+        for (int i = 0; i < distinct; i++) {
+            bodies[i] = ("{\"message\":\"Hello, greeting number " + i + "\",\"createdAt\":\"2024-08-01T10:15:30\"}")
+                    .getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @Benchmark
+    public List<GetGreetingResponse> decodeAndRetain(Footprint footprint) {
+        long before = usedHeapAfterGc();
+        var responses = new ArrayList<GetGreetingResponse>(RESPONSES);
+        for (int i = 0; i < RESPONSES; i++) {
+            responses.add(decoder.decode(bodies[i % distinct], GetGreetingResponse.class));
+        }
+        footprint.retainedBytes = usedHeapAfterGc() - before;
+        return responses;
+    }
+
+    private static long usedHeapAfterGc() {
+        System.gc();
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
@@ -0,0 +1,41 @@
+package io.etip.sdk.hello;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Building the getGreeting request by concatenating and re-parsing the whole URL (the former implementation)
+// vs. the precompiled Endpoint, which only encodes the name.
+// Compare gc.alloc.rate.norm: ./gradlew jmh -Pjmh.includes=UrlTemplateBenchmark -Pjmh.profilers=gc
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class UrlTemplateBenchmark {
+
+    private final String baseUri = "http://localhost:8080/api";
+    private final Endpoint endpoint = Endpoint.of(HttpUrl.get(baseUri), "greetings.getGreeting", "GET", "/greetings", "name");
+    private final String name = "Hantsy";
+
+    @Benchmark
+    public Request concatenated() {
+        return new Request.Builder().get().url(baseUri + "/greetings?name=" + name).build();
+    }
+
+    @Benchmark
+    public Request template() {
+        return endpoint.newRequest(name).build();
+    }
+}
@@ -0,0 +1,83 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import mockwebserver3.MockWebServer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// Fans out `concurrency` blocking getGreeting calls against a mock backend with 20ms latency,
+// from a fixed pool of platform threads vs. one virtual thread per call.
+// The score is batches per second, multiply it by `concurrency` to get calls per second.
+// The virtual mode needs a JDK 21 runtime: ./gradlew jmh -Pjdk21 -Pjmh.includes=VirtualThreadsBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Fork(1)
+public class VirtualThreadsBenchmark {
+
+    // a typical request thread pool of a servlet container.
+    private static final int PLATFORM_THREADS = 200;
+
+    @Param({"platform", "virtual"})
+    public String threads;
+
+    @Param({"1000", "10000"})
+    public int concurrency;
+
+    private MockWebServer server;
+    private HelloClient client;
+    private ExecutorService callers;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        boolean virtual = "virtual".equals(threads);
+        server = GreetingsMockServer.start(Duration.ofMillis(20));
+        client = HelloClient.newBuilder()
+                .httpClient(GreetingsMockServer.h2cHttpClient().build())
+                .baseUri(server.url("/api").toString())
+                .virtualThreads(virtual)
+                .build();
+        callers = virtual
+                ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(PLATFORM_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        callers.shutdownNow();
+        client.httpClient().dispatcher().executorService().shutdown();
+        client.httpClient().connectionPool().evictAll();
+        server.close();
+    }
+
+    @Benchmark
+    public int blockingFanOut() {
+        var greetings = client.greetings();
+        var calls = new ArrayList<CompletableFuture<?>>(concurrency);
+        for (int i = 0; i < concurrency; i++) {
+            var request = new GetGreetingRequest("name-" + i);
+            calls.add(CompletableFuture.runAsync(() -> greetings.getGreeting(request), callers));
+        }
+        CompletableFuture.allOf(calls.toArray(CompletableFuture[]::new)).join();
+        return calls.size();
+    }
+}
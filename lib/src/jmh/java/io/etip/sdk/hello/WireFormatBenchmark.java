@@ -0,0 +1,86 @@
+package io.etip.sdk.hello;
+
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import okhttp3.MediaType;
+import okio.Buffer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.concurrent.TimeUnit;
+
+// The JSON wire format vs. CBOR and Smile, encode + decode round trips of a single GetGreetingResponse
+// and a page of 1000 greetings.
+// ./gradlew jmh -Pjmh.includes=WireFormatBenchmark
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WireFormatBenchmark {
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"greeting", "page"})
+    public String payload;
+
+    private JsonEncoder encoder;
+    private JsonDecoder decoder;
+    private Object value;
+    private Class<?> type;
+    private byte[] encoded;
+
+    @Setup
+    public void setUp() throws IOException {
+        MediaType mediaType = switch (format) {
+            case "json" -> JsonRequestBody.APPLICATION_JSON;
+            case "cbor" -> JsonCodec.APPLICATION_CBOR;
+            case "smile" -> JsonCodec.APPLICATION_SMILE;
+            default -> throw new IllegalArgumentException(format);
+        };
+        var codec = "json".equals(format) ? JsonCodec.defaults() : JsonCodec.defaults(mediaType);
+        encoder = codec.encoder(mediaType);
+        decoder = codec.decoder(mediaType);
+        if ("greeting".equals(payload)) {
+            value = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+            type = GetGreetingResponse.class;
+        } else {
+            value = GreetingPage.of(1000);
+            type = GreetingPage.class;
+        }
+        var buffer = new Buffer();
+        encoder.encode(value, buffer);
+        encoded = buffer.readByteArray();
+    }
+
+    @Benchmark
+    public byte[] encode() throws IOException {
+        var buffer = new Buffer();
+        encoder.encode(value, buffer);
+        return buffer.readByteArray();
+    }
+
+    @Benchmark
+    public Object decode() {
+        return decoder.decode(new Buffer().write(encoded), type);
+    }
+
+    @Benchmark
+    public Object roundTrip() throws IOException {
+        var buffer = new Buffer();
+        encoder.encode(value, buffer);
+        return decoder.decode(buffer, type);
+    }
+}
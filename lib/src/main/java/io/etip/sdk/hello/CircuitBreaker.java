@@ -0,0 +1,132 @@
+package io.etip.sdk.hello;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+// The lock-free state machine of the circuit breaker of one endpoint, see CircuitBreakerPolicy.
+// Each state owns its sliding window of outcomes, a transition swaps the whole state with a CAS, so the window
+// is reset along with it and the outcomes of the calls permitted by a previous state are ignored.
+final class CircuitBreaker {
+    static final int CLOSED = 0;
+    static final int OPEN = 1;
+    static final int HALF_OPEN = 2;
+
+    private final CircuitBreakerPolicy policy;
+    private final long slowCallNanos;
+    private final long openNanos;
+    private final AtomicReference<State> state;
+
+    CircuitBreaker(CircuitBreakerPolicy policy) {
+        this.policy = policy;
+        this.slowCallNanos = policy.slowCallDuration().toNanos();
+        this.openNanos = policy.openDuration().toNanos();
+        this.state = new AtomicReference<>(closed());
+    }
+
+    int state() {
+        return state.get().kind;
+    }
+
+    // the state permitting the call, to pass back to record(...), null when the call is not permitted.
+    State tryAcquire() {
+        while (true) {
+            var current = state.get();
+            switch (current.kind) {
+                case CLOSED:
+                    return current;
+                case HALF_OPEN:
+                    return current.permits.getAndDecrement() > 0 ? current : null;
+                default:
+                    if (System.nanoTime() - current.openedAt < openNanos) {
+                        return null;
+                    }
+                    state.compareAndSet(current, halfOpen());
+            }
+        }
+    }
+
+    // the call did not complete, eg. it was canceled, its half-open permit is given back.
+    void release(State permitted) {
+        if (permitted.kind == HALF_OPEN) {
+            permitted.permits.incrementAndGet();
+        }
+    }
+
+    void record(State permitted, boolean failure, long durationNanos) {
+        if (state.get() != permitted) {
+            return;
+        }
+        var window = permitted.window;
+        int recorded = window.record(failure, durationNanos >= slowCallNanos);
+        if (permitted.kind == CLOSED) {
+            if (recorded >= policy.minimumCalls() && window.exceeds(policy)) {
+                state.compareAndSet(permitted, open());
+            }
+        } else if (recorded == policy.halfOpenCalls()) {
+            state.compareAndSet(permitted, window.exceeds(policy) ? open() : closed());
+        }
+    }
+
+    private State closed() {
+        return new State(CLOSED, 0, new Window(policy.windowSize()), null);
+    }
+
+    private State open() {
+        return new State(OPEN, System.nanoTime(), null, null);
+    }
+
+    private State halfOpen() {
+        return new State(HALF_OPEN, 0, new Window(policy.halfOpenCalls()), new AtomicInteger(policy.halfOpenCalls()));
+    }
+
+    static final class State {
+        private final int kind;
+        private final long openedAt;
+        private final Window window;
+        private final AtomicInteger permits;
+
+        private State(int kind, long openedAt, Window window, AtomicInteger permits) {
+            this.kind = kind;
+            this.openedAt = openedAt;
+            this.window = window;
+            this.permits = permits;
+        }
+    }
+
+    // The ring of the last outcomes, the counts are updated with the delta of the replaced slot,
+    // so they converge to the ring content without locking it.
+    private static final class Window {
+        private static final int RECORDED = 1;
+        private static final int FAILURE = 2;
+        private static final int SLOW = 4;
+
+        private final AtomicIntegerArray slots;
+        private final AtomicLong next = new AtomicLong();
+        private final AtomicInteger calls = new AtomicInteger();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger slowCalls = new AtomicInteger();
+        private final AtomicInteger recorded = new AtomicInteger();
+
+        Window(int size) {
+            this.slots = new AtomicIntegerArray(size);
+        }
+
+        // the number of outcomes recorded so far, including the evicted ones.
+        int record(boolean failure, boolean slow) {
+            int outcome = RECORDED | (failure ? FAILURE : 0) | (slow ? SLOW : 0);
+            int previous = slots.getAndSet((int) (next.getAndIncrement() % slots.length()), outcome);
+            calls.addAndGet(1 - (previous & RECORDED));
+            failures.addAndGet(((outcome & FAILURE) - (previous & FAILURE)) >> 1);
+            slowCalls.addAndGet(((outcome & SLOW) - (previous & SLOW)) >> 2);
+            return recorded.incrementAndGet();
+        }
+
+        boolean exceeds(CircuitBreakerPolicy policy) {
+            int total = calls.get();
+            return total > 0 && (failures.get() >= policy.failureRateThreshold() * total
+                    || slowCalls.get() >= policy.slowCallRateThreshold() * total);
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// One circuit breaker per endpoint, keyed by the Endpoint tag of the request, the untagged requests pass through.
+// Installed inside the RetryInterceptor, so each attempt is an outcome, and a rejected attempt is not retried.
+// A rejected call fails with an IOException caused by a CircuitOpenException, the API implementations unwrap it.
+final class CircuitBreakerInterceptor implements Interceptor {
+    private final CircuitBreakerPolicy policy;
+    private final HelloMetrics metrics;
+    private final ConcurrentMap<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+
+    CircuitBreakerInterceptor(CircuitBreakerPolicy policy, HelloMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var endpoint = request.tag(Endpoint.class);
+        if (endpoint == null) {
+            return chain.proceed(request);
+        }
+
+        var breaker = breakers.computeIfAbsent(endpoint.name(), this::newBreaker);
+        var permitted = breaker.tryAcquire();
+        if (permitted == null) {
+            metrics.counter(endpoint.name() + ".circuit.rejected").increment();
+            var rejected = new CircuitOpenException(endpoint.name());
+            throw new IOException(rejected.getMessage(), rejected);
+        }
+
+        long start = System.nanoTime();
+        Response response = null;
+        try {
+            response = chain.proceed(request);
+            return response;
+        } finally {
+            if (response == null && chain.call().isCanceled()) {
+                breaker.release(permitted);
+            } else {
+                breaker.record(permitted, response == null || response.code() >= 500, System.nanoTime() - start);
+            }
+        }
+    }
+
+    // the state gauge, 0 closed, 1 open, 2 half-open.
+    private CircuitBreaker newBreaker(String endpointName) {
+        var breaker = new CircuitBreaker(policy);
+        metrics.gauge(endpointName + ".circuit.state", breaker::state);
+        return breaker;
+    }
+}
@@ -0,0 +1,127 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The circuit breaker of each endpoint, see HelloClient.Builder.circuitBreaker(...).
+// The breaker records the outcome of the last windowSize calls, failures (connection failures and 5xx responses)
+// and slow calls (the response headers took at least slowCallDuration). Once minimumCalls are recorded and
+// the failure rate or the slow-call rate reaches its threshold, the circuit opens, the calls fail fast with
+// a CircuitOpenException for openDuration, then halfOpenCalls trial calls decide whether it closes or opens again.
+public final class CircuitBreakerPolicy {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 1.0;
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(5);
+    public static final int DEFAULT_WINDOW_SIZE = 100;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(10);
+    public static final int DEFAULT_HALF_OPEN_CALLS = 5;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDuration;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+
+    private CircuitBreakerPolicy(Builder builder) {
+        this.failureRateThreshold = builder.failureRateThreshold;
+        this.slowCallRateThreshold = builder.slowCallRateThreshold;
+        this.slowCallDuration = builder.slowCallDuration;
+        this.windowSize = builder.windowSize;
+        this.minimumCalls = builder.minimumCalls;
+        this.openDuration = builder.openDuration;
+        this.halfOpenCalls = builder.halfOpenCalls;
+    }
+
+    public static CircuitBreakerPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public double failureRateThreshold() {
+        return failureRateThreshold;
+    }
+
+    public double slowCallRateThreshold() {
+        return slowCallRateThreshold;
+    }
+
+    public Duration slowCallDuration() {
+        return slowCallDuration;
+    }
+
+    public int windowSize() {
+        return windowSize;
+    }
+
+    public int minimumCalls() {
+        return minimumCalls;
+    }
+
+    public Duration openDuration() {
+        return openDuration;
+    }
+
+    public int halfOpenCalls() {
+        return halfOpenCalls;
+    }
+
+    public static class Builder {
+        private double failureRateThreshold = DEFAULT_FAILURE_RATE_THRESHOLD;
+        private double slowCallRateThreshold = DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        private Duration slowCallDuration = DEFAULT_SLOW_CALL_DURATION;
+        private int windowSize = DEFAULT_WINDOW_SIZE;
+        private int minimumCalls = DEFAULT_MINIMUM_CALLS;
+        private Duration openDuration = DEFAULT_OPEN_DURATION;
+        private int halfOpenCalls = DEFAULT_HALF_OPEN_CALLS;
+
+        // the rates are between 0 (exclusive) and 1, a slow-call rate of 1 only opens when all the calls are slow.
+        public Builder failureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = rate(failureRateThreshold);
+            return this;
+        }
+
+        public Builder slowCallRateThreshold(double slowCallRateThreshold, Duration slowCallDuration) {
+            this.slowCallRateThreshold = rate(slowCallRateThreshold);
+            this.slowCallDuration = slowCallDuration;
+            return this;
+        }
+
+        public Builder window(int windowSize, int minimumCalls) {
+            if (windowSize < 1 || minimumCalls < 1 || minimumCalls > windowSize) {
+                throw new IllegalArgumentException("minimumCalls must be between 1 and windowSize");
+            }
+            this.windowSize = windowSize;
+            this.minimumCalls = minimumCalls;
+            return this;
+        }
+
+        public Builder openDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+            return this;
+        }
+
+        public Builder halfOpenCalls(int halfOpenCalls) {
+            if (halfOpenCalls < 1) {
+                throw new IllegalArgumentException("halfOpenCalls must be greater than 0");
+            }
+            this.halfOpenCalls = halfOpenCalls;
+            return this;
+        }
+
+        public CircuitBreakerPolicy build() {
+            return new CircuitBreakerPolicy(this);
+        }
+
+        private static double rate(double rate) {
+            if (rate <= 0 || rate > 1) {
+                throw new IllegalArgumentException("rate must be in (0, 1]");
+            }
+            return rate;
+        }
+    }
+}
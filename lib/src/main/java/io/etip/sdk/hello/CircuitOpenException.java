@@ -0,0 +1,15 @@
+package io.etip.sdk.hello;
+
+// Thrown without calling the backend while the circuit breaker of the endpoint is open, see CircuitBreakerPolicy.
+public class CircuitOpenException extends HelloException {
+    private final String endpoint;
+
+    public CircuitOpenException(String endpoint) {
+        super("The circuit breaker of " + endpoint + " is open");
+        this.endpoint = endpoint;
+    }
+
+    public String endpoint() {
+        return endpoint;
+    }
+}
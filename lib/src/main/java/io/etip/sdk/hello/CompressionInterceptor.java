@@ -0,0 +1,119 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.BufferedSink;
+import okio.GzipSink;
+import okio.Okio;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+// Gzips the request bodies over a size threshold, and advertises and decodes the configured response encodings.
+// Setting Accept-Encoding turns off the transparent gzip of OkHttp, the responses are decoded here instead.
+final class CompressionInterceptor implements Interceptor {
+    // -1 leaves the request bodies uncompressed.
+    private final long gzipRequestMinBytes;
+    // null leaves the response encodings to OkHttp.
+    private final String acceptEncoding;
+    private final Map<String, Decompressor> decompressors;
+
+    CompressionInterceptor(long gzipRequestMinBytes, List<Decompressor> decompressors) {
+        this.gzipRequestMinBytes = gzipRequestMinBytes;
+        this.decompressors = new HashMap<>();
+        for (var decompressor : decompressors) {
+            this.decompressors.put(decompressor.encoding().toLowerCase(Locale.ROOT), decompressor);
+        }
+        this.acceptEncoding = decompressors.isEmpty() ? null
+                : String.join(", ", decompressors.stream().map(Decompressor::encoding).toList());
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        if (shouldGzip(request)) {
+            request = request.newBuilder()
+                    .header("Content-Encoding", "gzip")
+                    .method(request.method(), new GzipRequestBody(request.body()))
+                    .build();
+        }
+        if (acceptEncoding == null || request.header("Accept-Encoding") != null) {
+            return chain.proceed(request);
+        }
+
+        var response = chain.proceed(request.newBuilder().header("Accept-Encoding", acceptEncoding).build());
+        var encoding = response.header("Content-Encoding");
+        // a HEAD, 204 or 304 response, or an empty body, has nothing to decode, whatever its Content-Encoding.
+        if (encoding == null || !promisesBody(response) || response.body().contentLength() == 0) {
+            return response;
+        }
+        var decompressor = decompressors.get(encoding.trim().toLowerCase(Locale.ROOT));
+        if (decompressor == null) {
+            // identity, or an encoding the server should not have sent, leave it to the caller.
+            return response;
+        }
+        var body = response.body();
+        var decompressed = Okio.buffer(decompressor.decompress(body.source()));
+        return response.newBuilder()
+                .removeHeader("Content-Encoding")
+                .removeHeader("Content-Length")
+                .body(ResponseBody.create(decompressed, body.contentType(), -1))
+                .build();
+    }
+
+    // as RFC 9110 section 6.4.1: no body for a HEAD request, a 1xx, 204 or 304 response, unless its framing
+    // headers announce one anyway, as OkHttp does internally.
+    private static boolean promisesBody(Response response) {
+        if (response.request().method().equals("HEAD")) {
+            return false;
+        }
+        int code = response.code();
+        if ((code < 100 || code >= 200) && code != 204 && code != 304) {
+            return true;
+        }
+        return response.header("Content-Length") != null
+                || "chunked".equalsIgnoreCase(response.header("Transfer-Encoding"));
+    }
+
+    // the bodies of unknown length, the streamed JSON bodies, are always compressed, they cannot be measured upfront.
+    private boolean shouldGzip(Request request) throws IOException {
+        var body = request.body();
+        if (gzipRequestMinBytes < 0 || body == null || request.header("Content-Encoding") != null) {
+            return false;
+        }
+        var length = body.contentLength();
+        return length < 0 || length >= gzipRequestMinBytes;
+    }
+
+    private static final class GzipRequestBody extends RequestBody {
+        private final RequestBody body;
+
+        GzipRequestBody(RequestBody body) {
+            this.body = body;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return body.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(BufferedSink sink) throws IOException {
+            try (var gzipSink = Okio.buffer(new GzipSink(sink))) {
+                body.writeTo(gzipSink);
+            }
+        }
+    }
+}
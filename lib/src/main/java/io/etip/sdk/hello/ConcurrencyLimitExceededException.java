@@ -0,0 +1,17 @@
+package io.etip.sdk.hello;
+
+// Thrown without calling the backend when the call is over the adaptive concurrency limit and cannot be queued,
+// or waited in the queue for longer than the maxWait of the ConcurrencyLimitPolicy.
+public class ConcurrencyLimitExceededException extends HelloException {
+    private final int limit;
+
+    public ConcurrencyLimitExceededException(int limit) {
+        super("The concurrency limit of " + limit + " in-flight calls is exceeded");
+        this.limit = limit;
+    }
+
+    // the limit when the call was rejected.
+    public int limit() {
+        return limit;
+    }
+}
@@ -0,0 +1,118 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The adaptive limit of the in-flight calls of a client, see HelloClient.Builder.concurrencyLimit(...).
+// The limit is discovered from the round-trip times as TCP Vegas does: while the RTTs stay close to the lowest RTT
+// seen, the backend is not queueing and the limit grows, when they stretch the limit shrinks, and a dropped call
+// (a connection failure, a 429 or a 503) cuts it by backoffRatio. The calls over the limit wait in a queue of
+// maxQueued calls for up to maxWait, the others fail fast with a ConcurrencyLimitExceededException.
+public final class ConcurrencyLimitPolicy {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 1000;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final int DEFAULT_MAX_QUEUED = 256;
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final int maxQueued;
+    private final Duration maxWait;
+
+    private ConcurrencyLimitPolicy(Builder builder) {
+        this.initialLimit = builder.initialLimit;
+        this.minLimit = builder.minLimit;
+        this.maxLimit = builder.maxLimit;
+        this.backoffRatio = builder.backoffRatio;
+        this.maxQueued = builder.maxQueued;
+        this.maxWait = builder.maxWait;
+    }
+
+    public static ConcurrencyLimitPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int initialLimit() {
+        return initialLimit;
+    }
+
+    public int minLimit() {
+        return minLimit;
+    }
+
+    public int maxLimit() {
+        return maxLimit;
+    }
+
+    public double backoffRatio() {
+        return backoffRatio;
+    }
+
+    public int maxQueued() {
+        return maxQueued;
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    public static class Builder {
+        private int initialLimit = DEFAULT_INITIAL_LIMIT;
+        private int minLimit = DEFAULT_MIN_LIMIT;
+        private int maxLimit = DEFAULT_MAX_LIMIT;
+        private double backoffRatio = DEFAULT_BACKOFF_RATIO;
+        private int maxQueued = DEFAULT_MAX_QUEUED;
+        private Duration maxWait = DEFAULT_MAX_WAIT;
+
+        public Builder initialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+            return this;
+        }
+
+        public Builder limits(int minLimit, int maxLimit) {
+            if (minLimit < 1 || minLimit > maxLimit) {
+                throw new IllegalArgumentException("minLimit must be between 1 and maxLimit");
+            }
+            this.minLimit = minLimit;
+            this.maxLimit = maxLimit;
+            return this;
+        }
+
+        // the multiplicative decrease on a dropped call.
+        public Builder backoffRatio(double backoffRatio) {
+            if (backoffRatio <= 0 || backoffRatio >= 1) {
+                throw new IllegalArgumentException("backoffRatio must be in (0, 1)");
+            }
+            this.backoffRatio = backoffRatio;
+            return this;
+        }
+
+        public Builder queue(int maxQueued, Duration maxWait) {
+            if (maxQueued < 0 || maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxQueued and maxWait cannot be negative");
+            }
+            this.maxQueued = maxQueued;
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        // reject the calls over the limit at once, same as queue(0, Duration.ZERO).
+        public Builder rejectExcess() {
+            return queue(0, Duration.ZERO);
+        }
+
+        public ConcurrencyLimitPolicy build() {
+            if (initialLimit < minLimit || initialLimit > maxLimit) {
+                throw new IllegalArgumentException("initialLimit must be between minLimit and maxLimit");
+            }
+            return new ConcurrencyLimitPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,386 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// Holds the calls of a client to the adaptive VegasLimit before they reach the OkHttp dispatcher, so the
+// dispatcher only sees the calls the backend is estimated to absorb, see ConcurrencyLimitPolicy.
+// The calls over the limit wait in a lock-free queue, each completed call starts the next waiting one,
+// a call which waited for longer than maxWait, or past its Deadline, when its turn comes is rejected instead.
+// A blocking call waits on its own thread, an enqueued call is failed by a timer when it is still queued by then.
+// The limit is sampled with the RTT of the last attempt which reached the backend, timed by the innermost
+// interceptor, so the retry delays and the rate limit waits are not counted, and not at all for the calls
+// the SDK rejected, eg. an open circuit, which would otherwise be taken for drops.
+final class ConcurrencyLimitingCallFactory implements Call.Factory {
+    // the timers of the enqueued waiters only hand their rejection over, one daemon thread serves all the clients.
+    private static final ScheduledThreadPoolExecutor TIMER = newTimer();
+
+    private final Call.Factory delegate;
+    private final ExecutorService executor;
+    private final ConcurrencyLimitPolicy policy;
+    private final VegasLimit limit;
+    private final long maxWaitNanos;
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final LongAdder rejected;
+
+    ConcurrencyLimitingCallFactory(OkHttpClient delegate, ConcurrencyLimitPolicy policy, HelloMetrics metrics) {
+        // innermost, after the SDK interceptors, newBuilder() shares the pool and the dispatcher.
+        this.delegate = delegate.newBuilder().addInterceptor(ConcurrencyLimitingCallFactory::timeAttempt).build();
+        this.executor = delegate.dispatcher().executorService();
+        this.policy = policy;
+        this.limit = new VegasLimit(policy);
+        this.maxWaitNanos = policy.maxWait().toNanos();
+        this.rejected = metrics.counter("concurrency.rejected");
+        metrics.gauge("concurrency.limit", limit::limit);
+        metrics.gauge("concurrency.inflight", inFlight::get);
+        metrics.gauge("concurrency.queued", queued::get);
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        var attempt = new Attempt();
+        return new LimitedCall(delegate.newCall(request.newBuilder().tag(Attempt.class, attempt).build()), attempt);
+    }
+
+    private static Response timeAttempt(Interceptor.Chain chain) throws IOException {
+        var attempt = chain.request().tag(Attempt.class);
+        if (attempt == null) {
+            return chain.proceed(chain.request());
+        }
+        long start = System.nanoTime();
+        boolean rejected = false;
+        try {
+            return chain.proceed(chain.request());
+        } catch (IOException e) {
+            rejected = e.getCause() instanceof HelloException;
+            throw e;
+        } finally {
+            // a canceled attempt, eg. a losing hedge, ends early and would lower the RTT without load.
+            if (!rejected && !chain.call().isCanceled()) {
+                attempt.rttNanos = System.nanoTime() - start;
+            }
+        }
+    }
+
+    private boolean tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit.limit()) {
+                return false;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    // a negative RTT leaves the limit as is.
+    private void release(long rttNanos, boolean dropped) {
+        int current = inFlight.getAndDecrement();
+        if (rttNanos >= 0) {
+            limit.onSample(rttNanos, current, dropped);
+        }
+        drain();
+    }
+
+    // starts the waiters while there are permits, called after every change of the permits or of the queue,
+    // so a waiter queued concurrently with a release is not left behind.
+    private void drain() {
+        while (!waiters.isEmpty() && tryAcquire()) {
+            var waiter = waiters.poll();
+            if (waiter != null) {
+                queued.decrementAndGet();
+            }
+            if (waiter == null || !waiter.claim()) {
+                inFlight.decrementAndGet();
+            } else if (System.nanoTime() - waiter.expiresAt > 0) {
+                inFlight.decrementAndGet();
+                waiter.reject(expired(waiter));
+            } else {
+                waiter.start();
+            }
+        }
+    }
+
+    private void queue(Waiter waiter) throws IOException {
+        if (queued.incrementAndGet() > policy.maxQueued()) {
+            queued.decrementAndGet();
+            throw exceeded();
+        }
+        waiters.add(waiter);
+        drain();
+    }
+
+    // false when drain() claimed the waiter first, it is then started or rejected.
+    private boolean abandon(Waiter waiter) {
+        if (!waiter.claim()) {
+            return false;
+        }
+        if (waiters.remove(waiter)) {
+            queued.decrementAndGet();
+        }
+        return true;
+    }
+
+    // a waiter expires at its Deadline when it is earlier than maxWait, the call then fails as past its deadline.
+    private IOException expired(Waiter waiter) {
+        var deadline = Deadline.of(waiter.request);
+        if (deadline != null && deadline.isExpired()) {
+            var exceeded = new DeadlineExceededException("Deadline exceeded while waiting for a concurrency permit");
+            return new IOException(exceeded.getMessage(), exceeded);
+        }
+        return exceeded();
+    }
+
+    private IOException exceeded() {
+        rejected.increment();
+        var exceeded = new ConcurrencyLimitExceededException(limit.limit());
+        return new IOException(exceeded.getMessage(), exceeded);
+    }
+
+    // fails a waiter still queued at its expiry on the dispatcher executor, as OkHttp fails its enqueued calls.
+    private void expire(Waiter waiter) {
+        if (abandon(waiter)) {
+            var e = expired(waiter);
+            try {
+                executor.execute(() -> waiter.reject(e));
+            } catch (RejectedExecutionException shutdown) {
+                waiter.reject(e);
+            }
+        }
+    }
+
+    private static ScheduledThreadPoolExecutor newTimer() {
+        var timer = new ScheduledThreadPoolExecutor(1, task -> {
+            var thread = new Thread(task, "hello-concurrency-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    // a connection failure or an explicit overload of the backend.
+    private static boolean isDrop(Response response) {
+        return response.code() == 429 || response.code() == 503;
+    }
+
+    // The request tag the RTT of the last attempt of a call is recorded in, negative until one reached the backend.
+    private static final class Attempt {
+        volatile long rttNanos = -1;
+    }
+
+    // A call waiting for a permit, claimed once, either to start it, or to fail it.
+    private abstract class Waiter {
+        final Request request;
+        final long expiresAt;
+        private final AtomicBoolean claimed = new AtomicBoolean();
+
+        Waiter(Request request) {
+            this.request = request;
+            this.expiresAt = System.nanoTime() + Deadline.bound(request, maxWaitNanos);
+        }
+
+        boolean claim() {
+            return claimed.compareAndSet(false, true);
+        }
+
+        // the permit is acquired.
+        abstract void start();
+
+        abstract void reject(IOException e);
+    }
+
+    private final class LimitedCall implements Call {
+        private final Call call;
+        private final Attempt attempt;
+        private volatile Waiter waiter;
+        private volatile ScheduledFuture<?> timeout;
+
+        LimitedCall(Call call, Attempt attempt) {
+            this.call = call;
+            this.attempt = attempt;
+        }
+
+        @Override
+        public Request request() {
+            return call.request();
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            if (!tryAcquire()) {
+                awaitPermit();
+            }
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = call.execute();
+                return response;
+            } catch (IOException e) {
+                failure = e;
+                throw e;
+            } finally {
+                complete(response, failure);
+            }
+        }
+
+        private void complete(Response response, IOException failure) {
+            if (failure != null && failure.getCause() instanceof HelloException) {
+                // rejected by the SDK, the backend was not called for the last attempt.
+                release(-1, false);
+            } else {
+                release(attempt.rttNanos, response != null ? isDrop(response) : !call.isCanceled());
+            }
+        }
+
+        private void awaitPermit() throws IOException {
+            var latch = new CountDownLatch(1);
+            var rejection = new IOException[1];
+            var waiter = new Waiter(call.request()) {
+                @Override
+                void start() {
+                    latch.countDown();
+                }
+
+                @Override
+                void reject(IOException e) {
+                    rejection[0] = e;
+                    latch.countDown();
+                }
+            };
+            queue(waiter);
+            boolean interrupted = false;
+            try {
+                if (!latch.await(waiter.expiresAt - System.nanoTime(), TimeUnit.NANOSECONDS) && abandon(waiter)) {
+                    throw expired(waiter);
+                }
+            } catch (InterruptedException e) {
+                if (abandon(waiter)) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for a concurrency permit");
+                }
+                interrupted = true;
+            }
+            // claimed by drain(), which is about to start or reject the waiter.
+            while (true) {
+                try {
+                    latch.await();
+                    break;
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+            if (rejection[0] != null) {
+                throw rejection[0];
+            }
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            if (tryAcquire()) {
+                send(callback);
+                return;
+            }
+            var waiter = new Waiter(call.request()) {
+                @Override
+                void start() {
+                    cancelTimeout();
+                    send(callback);
+                }
+
+                @Override
+                void reject(IOException e) {
+                    cancelTimeout();
+                    callback.onFailure(LimitedCall.this, e);
+                }
+            };
+            this.waiter = waiter;
+            try {
+                queue(waiter);
+            } catch (IOException e) {
+                callback.onFailure(this, e);
+                return;
+            }
+            // a waiter started meanwhile misses the cancel, its timer then finds it claimed.
+            timeout = TIMER.schedule(() -> expire(waiter), waiter.expiresAt - System.nanoTime(), TimeUnit.NANOSECONDS);
+        }
+
+        private void cancelTimeout() {
+            var timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel(false);
+            }
+        }
+
+        private void send(Callback callback) {
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    complete(null, e);
+                    callback.onFailure(LimitedCall.this, e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) throws IOException {
+                    complete(response, null);
+                    callback.onResponse(LimitedCall.this, response);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            call.cancel();
+            // a queued call is failed at once, as OkHttp fails a canceled call.
+            var waiter = this.waiter;
+            if (waiter != null && abandon(waiter)) {
+                waiter.reject(new IOException("Canceled"));
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return call.isExecuted() || waiter != null;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return call.isCanceled();
+        }
+
+        @Override
+        public Timeout timeout() {
+            return call.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return newCall(call.request());
+        }
+    }
+}
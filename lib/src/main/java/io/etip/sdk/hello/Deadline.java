@@ -0,0 +1,49 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Request;
+
+import java.time.Duration;
+
+// An absolute point in System.nanoTime() time a call must complete by, see RequestOptions.
+// The requests carry it as a tag: it bounds the OkHttp call timeout, the retry delays, the waits for
+// a rate limit or a concurrency permit, and the response is not decoded once it is expired.
+public final class Deadline {
+    private final long nanoTime;
+
+    private Deadline(long nanoTime) {
+        this.nanoTime = nanoTime;
+    }
+
+    public static Deadline after(Duration timeout) {
+        return new Deadline(System.nanoTime() + timeout.toNanos());
+    }
+
+    // the deadline of the request, null if it has none.
+    public static Deadline of(Request request) {
+        return request.tag(Deadline.class);
+    }
+
+    public long nanoTime() {
+        return nanoTime;
+    }
+
+    // negative once expired.
+    public long remainingNanos() {
+        return nanoTime - System.nanoTime();
+    }
+
+    public boolean isExpired() {
+        return remainingNanos() <= 0;
+    }
+
+    // the wait bounded by the deadline of the request, if any.
+    static long bound(Request request, long waitNanos) {
+        var deadline = of(request);
+        return deadline == null ? waitNanos : Math.min(waitNanos, Math.max(0, deadline.remainingNanos()));
+    }
+
+    @Override
+    public String toString() {
+        return "Deadline[" + Duration.ofNanos(remainingNanos()) + " remaining]";
+    }
+}
@@ -0,0 +1,13 @@
+package io.etip.sdk.hello;
+
+// Thrown when a call did not complete before the Deadline of its RequestOptions.
+public class DeadlineExceededException extends HelloException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+
+    public DeadlineExceededException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
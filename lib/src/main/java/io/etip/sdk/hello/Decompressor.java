@@ -0,0 +1,18 @@
+package io.etip.sdk.hello;
+
+import okio.BufferedSource;
+import okio.Source;
+
+import java.io.IOException;
+
+// Decodes a response Content-Encoding, eg. `gzip`, see HelloClient.Builder.responseEncodings(...).
+// gzip and deflate are built in, zstd when zstd-jni is on the classpath, other encodings are registered
+// with HelloClient.Builder.decompressor(...) or as services of this interface.
+public interface Decompressor {
+
+    // the Content-Encoding token, case-insensitive.
+    String encoding();
+
+    // the decompressed stream of the response body, it is read as the body is consumed.
+    Source decompress(BufferedSource compressed) throws IOException;
+}
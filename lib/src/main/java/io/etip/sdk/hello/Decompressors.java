@@ -0,0 +1,85 @@
+package io.etip.sdk.hello;
+
+import com.github.luben.zstd.ZstdInputStream;
+import okio.BufferedSource;
+import okio.GzipSource;
+import okio.InflaterSource;
+import okio.Okio;
+import okio.Source;
+
+import java.io.IOException;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.zip.Inflater;
+
+// The built-in decompressors and the ones registered as services.
+final class Decompressors {
+
+    static final Decompressor GZIP = new Decompressor() {
+        @Override
+        public String encoding() {
+            return "gzip";
+        }
+
+        @Override
+        public Source decompress(BufferedSource compressed) {
+            return new GzipSource(compressed);
+        }
+    };
+
+    // HTTP deflate is the zlib format (RFC 1950), not raw deflate.
+    static final Decompressor DEFLATE = new Decompressor() {
+        @Override
+        public String encoding() {
+            return "deflate";
+        }
+
+        @Override
+        public Source decompress(BufferedSource compressed) {
+            return new InflaterSource(compressed, new Inflater());
+        }
+    };
+
+    // zstd-jni is an optional dependency, the decompressor is only available when it is on the classpath.
+    static final class Zstd implements Decompressor {
+
+        @Override
+        public String encoding() {
+            return "zstd";
+        }
+
+        @Override
+        public Source decompress(BufferedSource compressed) throws IOException {
+            return Okio.source(new ZstdInputStream(compressed.inputStream()));
+        }
+    }
+
+    private Decompressors() {
+    }
+
+    // checked outside of Zstd, verifying Zstd loads the zstd-jni classes.
+    private static boolean isZstdSupported() {
+        try {
+            Class.forName("com.github.luben.zstd.ZstdInputStream", false, Decompressors.class.getClassLoader());
+            return true;
+        } catch (ClassNotFoundException | LinkageError e) {
+            return false;
+        }
+    }
+
+    // the decompressors by encoding, the built-in ones first, so a service can replace them.
+    static Map<String, Decompressor> available() {
+        var decompressors = new LinkedHashMap<String, Decompressor>();
+        decompressors.put(GZIP.encoding(), GZIP);
+        decompressors.put(DEFLATE.encoding(), DEFLATE);
+        if (isZstdSupported()) {
+            decompressors.put("zstd", new Zstd());
+        }
+        for (var decompressor : ServiceLoader.load(Decompressor.class, Decompressor.class.getClassLoader())) {
+            decompressors.put(decompressor.encoding().toLowerCase(Locale.ROOT), decompressor);
+        }
+        return decompressors;
+    }
+}
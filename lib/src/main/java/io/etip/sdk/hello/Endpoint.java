@@ -0,0 +1,104 @@
+package io.etip.sdk.hello;
+
+import okhttp3.HttpUrl;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// A precompiled URL template of an API method, eg. `GET /greetings?name={name}`.
+// The base URL and the literal path segments are parsed and encoded once, a call only encodes its variables.
+// Every request built from an endpoint is tagged with it, so interceptors can apply per-endpoint policies.
+public final class Endpoint {
+    private final String name;
+    private final String method;
+    // the base URL plus the literal path segments before the first path variable.
+    private final HttpUrl prefixUrl;
+    // the path segments after the first path variable, null for a variable.
+    private final String[] pathSegments;
+    private final String[] queryNames;
+    private final int variableCount;
+
+    private Endpoint(String name, String method, HttpUrl prefixUrl, String[] pathSegments, String[] queryNames) {
+        this.name = name;
+        this.method = method;
+        this.prefixUrl = prefixUrl;
+        this.pathSegments = pathSegments;
+        this.queryNames = queryNames;
+        int pathVariables = 0;
+        for (var segment : pathSegments) {
+            if (segment == null) {
+                pathVariables++;
+            }
+        }
+        this.variableCount = pathVariables + queryNames.length;
+    }
+
+    // name is `<api group>.<method>`, eg. `greetings.getGreeting`, the path variables are written as `{id}` segments.
+    public static Endpoint of(HttpUrl baseUrl, String name, String method, String pathTemplate, String... queryNames) {
+        var prefix = baseUrl.newBuilder();
+        List<String> rest = new ArrayList<>();
+        for (var segment : pathTemplate.split("/")) {
+            if (segment.isEmpty()) {
+                continue;
+            }
+            boolean variable = segment.startsWith("{") && segment.endsWith("}");
+            if (variable || !rest.isEmpty()) {
+                rest.add(variable ? null : segment);
+            } else {
+                prefix.addPathSegment(segment);
+            }
+        }
+        return new Endpoint(name, method, prefix.build(), rest.toArray(String[]::new), queryNames.clone());
+    }
+
+    public String name() {
+        return name;
+    }
+
+    public String method() {
+        return method;
+    }
+
+    // the variables are the path variables in template order followed by the query parameters,
+    // a null query parameter is omitted.
+    public HttpUrl url(String... variables) {
+        if (variables.length != variableCount) {
+            throw new IllegalArgumentException(name + " expects " + variableCount + " variables, got " + variables.length);
+        }
+        if (variableCount == 0 && pathSegments.length == 0) {
+            return prefixUrl;
+        }
+
+        var url = prefixUrl.newBuilder();
+        int i = 0;
+        for (var segment : pathSegments) {
+            url.addPathSegment(segment != null ? segment : variables[i++]);
+        }
+        for (var queryName : queryNames) {
+            var value = variables[i++];
+            if (value != null) {
+                url.addQueryParameter(queryName, value);
+            }
+        }
+        return url.build();
+    }
+
+    public Request.Builder newRequest(String... variables) {
+        return newRequest(null, variables);
+    }
+
+    // the body is required for POST/PUT endpoints, see JsonCodec.requestBody(...).
+    public Request.Builder newRequest(RequestBody body, String... variables) {
+        return new Request.Builder()
+                .url(url(variables))
+                .method(method, body)
+                .tag(Endpoint.class, this);
+    }
+
+    @Override
+    public String toString() {
+        return name;
+    }
+}
@@ -0,0 +1,14 @@
+package io.etip.sdk.hello;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// Generates a reflection-free RecordCodec for the annotated record at compile time, see the codegen project.
+// The record components may be String, int, long, double, boolean (and their wrappers),
+// LocalDate, LocalDateTime, OffsetDateTime, Instant, other annotated records and Lists of these.
+@Retention(RetentionPolicy.CLASS)
+@Target(ElementType.TYPE)
+public @interface GenerateCodec {
+}
@@ -0,0 +1,310 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Request;
+import okhttp3.Response;
+import okio.Timeout;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+// Hedges the idempotent endpoint calls as configured by the HedgingPolicy, the other calls are plain OkHttp calls.
+// A hedged call is sent with enqueue(...), also when it is executed, the caller then waits for the winner,
+// so it holds the dispatcher slots of its calls rather than the calling thread.
+final class HedgingCallFactory implements Call.Factory {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    // the budget tokens are counted in thousandths.
+    private static final long TOKEN = 1000;
+    // the hedge timers only enqueue the hedges, one daemon thread serves all the clients.
+    private static final ScheduledThreadPoolExecutor TIMER = newTimer();
+
+    private final Call.Factory delegate;
+    private final HedgingPolicy policy;
+    private final HelloMetrics metrics;
+    private final ConcurrentMap<String, EndpointHedging> endpoints = new ConcurrentHashMap<>();
+    private final AtomicLong budget;
+    private final long budgetRefill;
+    private final LongAdder budgetExhausted;
+
+    HedgingCallFactory(Call.Factory delegate, HedgingPolicy policy, HelloMetrics metrics) {
+        this.delegate = delegate;
+        this.policy = policy;
+        this.metrics = metrics;
+        this.budget = new AtomicLong(policy.budgetTokens() * TOKEN);
+        this.budgetRefill = Math.max(1, Math.round(policy.budgetTokenRatio() * TOKEN));
+        this.budgetExhausted = metrics.counter("hedge.budget.exhausted");
+    }
+
+    @Override
+    public Call newCall(Request request) {
+        var endpoint = request.tag(Endpoint.class);
+        if (endpoint == null || !IDEMPOTENT_METHODS.contains(request.method())) {
+            return delegate.newCall(request);
+        }
+        return new HedgedCall(request, endpoints.computeIfAbsent(endpoint.name(), EndpointHedging::new));
+    }
+
+    private boolean takeToken() {
+        while (true) {
+            long tokens = budget.get();
+            if (tokens < TOKEN) {
+                budgetExhausted.increment();
+                return false;
+            }
+            if (budget.compareAndSet(tokens, tokens - TOKEN)) {
+                return true;
+            }
+        }
+    }
+
+    private void refill() {
+        refill(budgetRefill);
+    }
+
+    private void refill(long amount) {
+        long max = policy.budgetTokens() * TOKEN;
+        budget.accumulateAndGet(amount, (tokens, refill) -> Math.min(max, tokens + refill));
+    }
+
+    private static ScheduledThreadPoolExecutor newTimer() {
+        var timer = new ScheduledThreadPoolExecutor(1, task -> {
+            var thread = new Thread(task, "hello-hedging-timer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        timer.setRemoveOnCancelPolicy(true);
+        return timer;
+    }
+
+    // The latencies of the recent successful calls of an endpoint, measured from the start of the primary to the
+    // winning response, whichever call won, so the delay follows the latency the callers see. It is recomputed from
+    // the ring every RECOMPUTE samples, so the call path only writes a slot.
+    private final class EndpointHedging {
+        private static final int SAMPLES = 256;
+        private static final int RECOMPUTE = 32;
+
+        private final AtomicLongArray latencies = new AtomicLongArray(SAMPLES);
+        private final AtomicLong recorded = new AtomicLong();
+        private final long minDelayNanos = policy.minDelay().toNanos();
+        private volatile long delayNanos = policy.initialDelay().toNanos();
+        private final LongAdder sent;
+        private final LongAdder won;
+
+        EndpointHedging(String endpointName) {
+            this.sent = metrics.counter(endpointName + ".hedges.sent");
+            this.won = metrics.counter(endpointName + ".hedges.won");
+            metrics.gauge(endpointName + ".hedge.delay.millis", () -> TimeUnit.NANOSECONDS.toMillis(delayNanos));
+        }
+
+        void record(long latencyNanos) {
+            long n = recorded.getAndIncrement();
+            latencies.set((int) (n % SAMPLES), latencyNanos);
+            if (n + 1 >= SAMPLES && (n + 1) % RECOMPUTE == 0) {
+                var sorted = new long[SAMPLES];
+                for (int i = 0; i < SAMPLES; i++) {
+                    sorted[i] = latencies.get(i);
+                }
+                Arrays.sort(sorted);
+                long percentile = sorted[(int) Math.ceil(policy.delayPercentile() * SAMPLES) - 1];
+                delayNanos = Math.max(minDelayNanos, percentile);
+            }
+        }
+    }
+
+    // The primary call, then the hedge once the delay elapsed. The first successful response (not a 5xx) wins,
+    // a failure only completes the call when no other call is pending.
+    private final class HedgedCall implements Call {
+        private final Request request;
+        private final EndpointHedging hedging;
+        private final Call primary;
+        private volatile Call hedge;
+        private final AtomicBoolean executed = new AtomicBoolean();
+        private final AtomicBoolean completed = new AtomicBoolean();
+        // set by the hedge timer or by the first outcome, whichever comes first.
+        private final AtomicBoolean hedgeDecided = new AtomicBoolean();
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private volatile long startNanos;
+        private volatile Future<?> timer;
+        private volatile boolean canceled;
+
+        HedgedCall(Request request, EndpointHedging hedging) {
+            this.request = request;
+            this.hedging = hedging;
+            this.primary = delegate.newCall(request);
+        }
+
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @Override
+        public Response execute() throws IOException {
+            var future = new CompletableFuture<Response>();
+            enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    future.completeExceptionally(e);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    future.complete(response);
+                }
+            });
+            try {
+                return future.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for " + request.url());
+            } catch (ExecutionException e) {
+                throw (IOException) e.getCause();
+            }
+        }
+
+        @Override
+        public void enqueue(Callback callback) {
+            if (!executed.compareAndSet(false, true)) {
+                throw new IllegalStateException("Already Executed");
+            }
+            refill();
+            startNanos = System.nanoTime();
+            inFlight.incrementAndGet();
+            // scheduled first, so the timer is set when the primary completes.
+            timer = TIMER.schedule(() -> sendHedge(callback), hedging.delayNanos, TimeUnit.NANOSECONDS);
+            send(primary, callback);
+        }
+
+        private void sendHedge(Callback callback) {
+            if (canceled || hedgeDecided.get() || !takeToken()) {
+                return;
+            }
+            // counted in flight before the hedge is decided, a primary failing meanwhile waits for the hedge.
+            inFlight.incrementAndGet();
+            if (!hedgeDecided.compareAndSet(false, true)) {
+                // the primary completed first, and completes the call on its own.
+                inFlight.decrementAndGet();
+                refill(TOKEN);
+                return;
+            }
+            var call = delegate.newCall(request);
+            // the deadline set on the primary call applies to the hedge as well.
+            if (primary.timeout().hasDeadline()) {
+                call.timeout().deadlineNanoTime(primary.timeout().deadlineNanoTime());
+            }
+            hedge = call;
+            // a primary that won meanwhile may have missed the hedge, it is then not sent.
+            if (completed.get()) {
+                return;
+            }
+            // a cancel that missed the hedge, the canceled hedge fails on enqueue and completes the call.
+            if (canceled) {
+                call.cancel();
+            }
+            hedging.sent.increment();
+            send(call, callback);
+        }
+
+        private void send(Call call, Callback callback) {
+            call.enqueue(new Callback() {
+                @Override
+                public void onFailure(Call call, IOException e) {
+                    complete(call, null, e, callback);
+                }
+
+                @Override
+                public void onResponse(Call call, Response response) {
+                    complete(call, response, null, callback);
+                }
+            });
+        }
+
+        private void complete(Call call, Response response, IOException failure, Callback callback) {
+            // the first outcome before the hedge timer, no hedge is sent, the primary completes the call.
+            boolean onlyCall = hedgeDecided.compareAndSet(false, true);
+            if (onlyCall) {
+                timer.cancel(false);
+            }
+            int pending = inFlight.decrementAndGet();
+            boolean success = response != null && response.code() < 500;
+            if ((success || onlyCall || pending == 0) && completed.compareAndSet(false, true)) {
+                var other = call == primary ? hedge : primary;
+                if (other != null) {
+                    other.cancel();
+                }
+                if (success) {
+                    hedging.record(System.nanoTime() - startNanos);
+                }
+                if (call != primary) {
+                    hedging.won.increment();
+                }
+                if (response != null) {
+                    deliver(response, callback);
+                } else {
+                    callback.onFailure(this, failure);
+                }
+            } else if (response != null) {
+                response.close();
+            }
+        }
+
+        // as OkHttp, a callback failing on the response is not notified again.
+        private void deliver(Response response, Callback callback) {
+            try {
+                callback.onResponse(this, response);
+            } catch (IOException e) {
+                response.close();
+            }
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            var timer = this.timer;
+            if (timer != null) {
+                timer.cancel(false);
+            }
+            primary.cancel();
+            var hedge = this.hedge;
+            if (hedge != null) {
+                hedge.cancel();
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed.get();
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @Override
+        public Timeout timeout() {
+            return primary.timeout();
+        }
+
+        @Override
+        public Call clone() {
+            return new HedgedCall(request, hedging);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The hedging of the idempotent calls, see HelloClient.Builder.hedging(...).
+// When a call has no response after the delayPercentile of the recent latencies of its endpoint, a second
+// identical call is sent, the first successful response wins and the other call is canceled. Until the endpoint
+// has enough latency samples, initialDelay is used. The hedge budget is a token bucket shared by all the calls
+// of a client, each call gives tokenRatio of a token and each hedge takes one, so hedging adds at most
+// about tokenRatio of extra load and cannot double it when the backend is slow as a whole.
+public final class HedgingPolicy {
+    public static final double DEFAULT_DELAY_PERCENTILE = 0.95;
+    public static final Duration DEFAULT_INITIAL_DELAY = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(5);
+    public static final int DEFAULT_BUDGET_TOKENS = 10;
+    public static final double DEFAULT_BUDGET_TOKEN_RATIO = 0.05;
+
+    private final double delayPercentile;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final int budgetTokens;
+    private final double budgetTokenRatio;
+
+    private HedgingPolicy(Builder builder) {
+        this.delayPercentile = builder.delayPercentile;
+        this.initialDelay = builder.initialDelay;
+        this.minDelay = builder.minDelay;
+        this.budgetTokens = builder.budgetTokens;
+        this.budgetTokenRatio = builder.budgetTokenRatio;
+    }
+
+    public static HedgingPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public double delayPercentile() {
+        return delayPercentile;
+    }
+
+    public Duration initialDelay() {
+        return initialDelay;
+    }
+
+    public Duration minDelay() {
+        return minDelay;
+    }
+
+    public int budgetTokens() {
+        return budgetTokens;
+    }
+
+    public double budgetTokenRatio() {
+        return budgetTokenRatio;
+    }
+
+    public static class Builder {
+        private double delayPercentile = DEFAULT_DELAY_PERCENTILE;
+        private Duration initialDelay = DEFAULT_INITIAL_DELAY;
+        private Duration minDelay = DEFAULT_MIN_DELAY;
+        private int budgetTokens = DEFAULT_BUDGET_TOKENS;
+        private double budgetTokenRatio = DEFAULT_BUDGET_TOKEN_RATIO;
+
+        // eg. 0.95 hedges the calls slower than the p95 of the endpoint.
+        public Builder delayPercentile(double delayPercentile) {
+            if (delayPercentile <= 0 || delayPercentile >= 1) {
+                throw new IllegalArgumentException("delayPercentile must be in (0, 1)");
+            }
+            this.delayPercentile = delayPercentile;
+            return this;
+        }
+
+        public Builder initialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+            return this;
+        }
+
+        // the lower bound of the percentile delay, so a fast endpoint is not hedged on its jitter.
+        public Builder minDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+            return this;
+        }
+
+        public Builder budget(int tokens, double tokenRatio) {
+            if (tokens < 1 || tokenRatio <= 0) {
+                throw new IllegalArgumentException("the hedge budget requires positive tokens and tokenRatio");
+            }
+            this.budgetTokens = tokens;
+            this.budgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public HedgingPolicy build() {
+            return new HedgingPolicy(this);
+        }
+    }
+}
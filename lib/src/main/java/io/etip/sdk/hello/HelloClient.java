@@ -1,21 +1,53 @@
 package io.etip.sdk.hello;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
 import io.etip.sdk.hello.greetings.GreetingsApi;
+import io.etip.sdk.hello.greetings.GreetingsAsyncApi;
+import io.etip.sdk.hello.greetings.GreetingsCache;
+import io.etip.sdk.hello.greetings.impl.CachingGreetingsApi;
+import io.etip.sdk.hello.greetings.impl.CoalescingGreetingsApi;
 import io.etip.sdk.hello.greetings.impl.GreetingsApiImpl;
+import io.etip.sdk.hello.greetings.impl.GreetingsAsyncApiImpl;
+import okhttp3.Call;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.HttpUrl;
 import okhttp3.OkHttpClient;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
 public class HelloClient {
 
     private OkHttpClient httpClient;
+    private Call.Factory callFactory;
     private JsonCodec codecs;
     private String baseUri;
+    private List<String> baseUris;
+    private HttpUrl baseUrl;
+    private Executor callbackExecutor;
+    private HelloMetrics metrics;
+    private GreetingsApi greetings;
+    private GreetingsAsyncApi greetingsAsync;
+    private GreetingsCache greetingsCache;
+    private SecretKeyInterceptor secretKeyInterceptor;
 
     public OkHttpClient httpClient() {
         return httpClient;
     }
 
+    // the factory of the API calls, the httpClient unless the calls are hedged or held to a concurrency limit.
+    public Call.Factory callFactory() {
+        return callFactory;
+    }
+
     public JsonCodec codecs() {
         return codecs;
     }
@@ -24,8 +56,44 @@ public class HelloClient {
         return baseUri;
     }
 
+    // all the base URIs the calls are balanced over, the baseUri first.
+    public List<String> baseUris() {
+        return baseUris;
+    }
+
+    // the parsed baseUri, the API endpoints are precompiled against it.
+    public HttpUrl baseUrl() {
+        return baseUrl;
+    }
+
+    // the executor completing async calls, it decodes the response bodies off the OkHttp dispatcher threads.
+    public Executor callbackExecutor() {
+        return callbackExecutor;
+    }
+
+    // replace the secret key of the default HttpClient, the following calls are sent with the new key.
+    public void rotateSecretKey(String secretKey) {
+        if (secretKeyInterceptor == null) {
+            throw new IllegalStateException("The client is not configured with a secretKey");
+        }
+        secretKeyInterceptor.rotate(secretKey);
+    }
+
+    public HelloMetrics metrics() {
+        return metrics;
+    }
+
     public GreetingsApi greetings() {
-        return new GreetingsApiImpl(this);
+        return greetings;
+    }
+
+    public GreetingsAsyncApi greetingsAsync() {
+        return greetingsAsync;
+    }
+
+    // present when the response cache is enabled.
+    public Optional<GreetingsCache> greetingsCache() {
+        return Optional.ofNullable(greetingsCache);
     }
 
     // builder pattern to setup the client.
@@ -35,11 +103,45 @@ public class HelloClient {
 
     static class Builder {
 
+        // Defaults of the OkHttpClient created by the builder, sized for a server-side client with high throughput
+        // against a few hosts, rather than the OkHttp defaults (5 idle connections, 64 requests, 5 requests per host).
+        public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 64;
+        public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+        public static final int DEFAULT_MAX_REQUESTS = 256;
+        public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+        public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(5);
+        public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(10);
+        public static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(10);
+        // no limit, the connect, read and write timeouts bound each phase of a call.
+        public static final Duration DEFAULT_CALL_TIMEOUT = Duration.ZERO;
+
         private String secretKey;
         private OkHttpClient httpClient;
         private JsonCodec codecs;
         private String baseUri;
-
+        private List<String> baseUris;
+        private LoadBalancerPolicy loadBalancerPolicy = LoadBalancerPolicy.defaults();
+        private Executor callbackExecutor;
+        private boolean virtualThreads;
+        private boolean coalesceRequests;
+        private long cacheMaxEntries;
+        private Duration cacheTtl;
+        private int maxIdleConnections = DEFAULT_MAX_IDLE_CONNECTIONS;
+        private Duration keepAlive = DEFAULT_KEEP_ALIVE;
+        private int maxRequests = DEFAULT_MAX_REQUESTS;
+        private int maxRequestsPerHost = DEFAULT_MAX_REQUESTS_PER_HOST;
+        private Duration connectTimeout = DEFAULT_CONNECT_TIMEOUT;
+        private Duration readTimeout = DEFAULT_READ_TIMEOUT;
+        private Duration writeTimeout = DEFAULT_WRITE_TIMEOUT;
+        private Duration callTimeout = DEFAULT_CALL_TIMEOUT;
+        private long gzipRequestMinBytes = -1;
+        private List<String> responseEncodings;
+        private final List<Decompressor> decompressors = new ArrayList<>();
+        private RetryPolicy retryPolicy;
+        private CircuitBreakerPolicy circuitBreakerPolicy;
+        private HedgingPolicy hedgingPolicy;
+        private RateLimitPolicy rateLimitPolicy;
+        private ConcurrencyLimitPolicy concurrencyLimitPolicy;
 
         public Builder httpClient(OkHttpClient httpClient) {
             this.httpClient = httpClient;
@@ -58,38 +160,287 @@ public class HelloClient {
 
         public Builder baseUri(String baseUri) {
             this.baseUri = baseUri;
+            this.baseUris = null;
+            return this;
+        }
+
+        // several replicas of the API, eg. one per region, the calls are balanced over them as configured by
+        // loadBalancing(...), LoadBalancerPolicy.defaults() by default. Applies to a custom httpClient as well.
+        public Builder baseUris(String... baseUris) {
+            if (baseUris.length == 0) {
+                throw new IllegalArgumentException("baseUris cannot be empty");
+            }
+            this.baseUri = baseUris[0];
+            this.baseUris = List.of(baseUris);
+            return this;
+        }
+
+        public Builder loadBalancing(LoadBalancerPolicy loadBalancerPolicy) {
+            this.loadBalancerPolicy = loadBalancerPolicy;
+            return this;
+        }
+
+        public Builder callbackExecutor(Executor callbackExecutor) {
+            this.callbackExecutor = callbackExecutor;
+            return this;
+        }
+
+        // run the OkHttp dispatcher and the async callbacks on a virtual-thread-per-task executor, requires Java 21+.
+        public Builder virtualThreads(boolean virtualThreads) {
+            this.virtualThreads = virtualThreads;
+            return this;
+        }
+
+        // share one HTTP call between concurrent identical getGreeting calls, disabled by default: a coalesced caller
+        // gets the response, or the failure, of a call another thread sent.
+        public Builder coalesceRequests(boolean coalesceRequests) {
+            this.coalesceRequests = coalesceRequests;
+            return this;
+        }
+
+        // cache successful getGreeting responses, at most maxEntries entries, each expires ttl after it was loaded.
+        public Builder cache(long maxEntries, Duration ttl) {
+            this.cacheMaxEntries = maxEntries;
+            this.cacheTtl = ttl;
+            return this;
+        }
+
+        // The connection pool, dispatcher and timeout options below configure the default OkHttpClient,
+        // they are ignored when a custom httpClient is set.
+
+        // idle connections kept in the pool, keep it close to the usual concurrency per host, so the pool stays warm.
+        public Builder maxIdleConnections(int maxIdleConnections) {
+            this.maxIdleConnections = maxIdleConnections;
+            return this;
+        }
+
+        public Builder keepAlive(Duration keepAlive) {
+            this.keepAlive = keepAlive;
+            return this;
+        }
+
+        // the limits of the async calls, calls over the limits are queued by the dispatcher.
+        public Builder maxRequests(int maxRequests) {
+            this.maxRequests = maxRequests;
+            return this;
+        }
+
+        public Builder maxRequestsPerHost(int maxRequestsPerHost) {
+            this.maxRequestsPerHost = maxRequestsPerHost;
+            return this;
+        }
+
+        public Builder connectTimeout(Duration connectTimeout) {
+            this.connectTimeout = connectTimeout;
+            return this;
+        }
+
+        public Builder readTimeout(Duration readTimeout) {
+            this.readTimeout = readTimeout;
+            return this;
+        }
+
+        public Builder writeTimeout(Duration writeTimeout) {
+            this.writeTimeout = writeTimeout;
+            return this;
+        }
+
+        // the budget of a whole call, including redirects and retries, Duration.ZERO means no limit.
+        public Builder callTimeout(Duration callTimeout) {
+            this.callTimeout = callTimeout;
+            return this;
+        }
+
+        // Gzip the request bodies of at least minBytes, the streamed bodies of unknown length are always compressed.
+        // The compression options apply to a custom httpClient as well.
+        public Builder gzipRequests(long minBytes) {
+            if (minBytes < 0) {
+                throw new IllegalArgumentException("minBytes cannot be negative");
+            }
+            this.gzipRequestMinBytes = minBytes;
+            return this;
+        }
+
+        // Advertise and decode these response encodings, in order of preference, eg. "zstd", "gzip", "deflate".
+        // gzip and deflate are built in, zstd requires zstd-jni, other encodings require a Decompressor.
+        // By default only gzip is advertised, and decoded by OkHttp.
+        public Builder responseEncodings(String... encodings) {
+            this.responseEncodings = List.of(encodings);
+            return this;
+        }
+
+        public Builder decompressor(Decompressor decompressor) {
+            this.decompressors.add(decompressor);
+            return this;
+        }
+
+        // retry the idempotent calls, eg. RetryPolicy.defaults(), not enabled by default.
+        // Applies to a custom httpClient as well.
+        public Builder retryPolicy(RetryPolicy retryPolicy) {
+            this.retryPolicy = retryPolicy;
+            return this;
+        }
+
+        // a circuit breaker per endpoint, eg. CircuitBreakerPolicy.defaults(), not enabled by default.
+        // While the circuit is open, the calls fail fast with a CircuitOpenException. Applies to a custom httpClient as well.
+        public Builder circuitBreaker(CircuitBreakerPolicy circuitBreakerPolicy) {
+            this.circuitBreakerPolicy = circuitBreakerPolicy;
+            return this;
+        }
+
+        // hedge the slow idempotent calls, eg. HedgingPolicy.defaults(), not enabled by default.
+        // Applies to a custom httpClient as well.
+        public Builder hedging(HedgingPolicy hedgingPolicy) {
+            this.hedgingPolicy = hedgingPolicy;
+            return this;
+        }
+
+        // limit the calls rate on the client side, eg. RateLimitPolicy.newBuilder(100).burst(10).build(),
+        // not enabled by default. Applies to a custom httpClient as well.
+        public Builder rateLimit(RateLimitPolicy rateLimitPolicy) {
+            this.rateLimitPolicy = rateLimitPolicy;
+            return this;
+        }
+
+        // adapt the limit of the in-flight calls of the client to the backend latency, eg. ConcurrencyLimitPolicy.defaults(),
+        // not enabled by default. The calls over the limit are held before the dispatcher, maxRequestsPerHost
+        // then only needs to be an upper bound. Applies to a custom httpClient as well.
+        public Builder concurrencyLimit(ConcurrencyLimitPolicy concurrencyLimitPolicy) {
+            this.concurrencyLimitPolicy = concurrencyLimitPolicy;
             return this;
         }
 
         public HelloClient build() {
+            if (this.baseUri == null) {
+                throw new IllegalArgumentException("baseUri cannot be null");
+            }
+
             var client = new HelloClient();
+            client.baseUrl = HttpUrl.get(this.baseUri);
+            client.metrics = new HelloMetrics();
+
+            ExecutorService virtualThreadExecutor = this.virtualThreads
+                    ? VirtualThreads.newVirtualThreadPerTaskExecutor()
+                    : null;
 
             if (this.httpClient == null) {
-                OkHttpClient.Builder httpClientBuilder = new OkHttpClient().newBuilder();
+                var dispatcher = virtualThreadExecutor != null ? new Dispatcher(virtualThreadExecutor) : new Dispatcher();
+                dispatcher.setMaxRequests(this.maxRequests);
+                dispatcher.setMaxRequestsPerHost(this.maxRequestsPerHost);
+
+                OkHttpClient.Builder httpClientBuilder = new OkHttpClient().newBuilder()
+                        .dispatcher(dispatcher)
+                        .connectionPool(new ConnectionPool(this.maxIdleConnections, this.keepAlive.toMillis(), TimeUnit.MILLISECONDS))
+                        .connectTimeout(this.connectTimeout)
+                        .readTimeout(this.readTimeout)
+                        .writeTimeout(this.writeTimeout)
+                        .callTimeout(this.callTimeout);
 
                 if (this.secretKey != null) {
-                    httpClientBuilder = httpClientBuilder
-                            .authenticator((route, response) -> {
-                                return response.request().newBuilder().header("Authorization", this.secretKey).build();
-                            });
+                    client.secretKeyInterceptor = new SecretKeyInterceptor(this.secretKey);
+                    httpClientBuilder = httpClientBuilder.addInterceptor(client.secretKeyInterceptor);
                 }
 
+                this.httpClient = httpClientBuilder.build();
+            } else if (virtualThreadExecutor != null) {
+                // keep the connection pool, interceptors and request limits of the custom client, only swap its executor.
+                var dispatcher = new Dispatcher(virtualThreadExecutor);
+                dispatcher.setMaxRequests(this.httpClient.dispatcher().getMaxRequests());
+                dispatcher.setMaxRequestsPerHost(this.httpClient.dispatcher().getMaxRequestsPerHost());
+                this.httpClient = this.httpClient.newBuilder()
+                        .dispatcher(dispatcher)
+                        .build();
+            }
+
+            // the SDK interceptors applying to the custom clients as well, newBuilder() shares their pool and dispatcher.
+            // Outermost first, each retry attempt takes a rate limit permit and is an outcome of the circuit breaker.
+            var compressionInterceptor = compressionInterceptor();
+            var loadBalancingInterceptor = loadBalancingInterceptor(client.metrics);
+            if (compressionInterceptor != null || this.retryPolicy != null || this.rateLimitPolicy != null
+                    || loadBalancingInterceptor != null || this.circuitBreakerPolicy != null) {
+                var httpClientBuilder = this.httpClient.newBuilder();
+                if (compressionInterceptor != null) {
+                    httpClientBuilder.addInterceptor(compressionInterceptor);
+                }
+                if (this.retryPolicy != null) {
+                    httpClientBuilder.addInterceptor(new RetryInterceptor(this.retryPolicy, client.metrics));
+                }
+                if (this.rateLimitPolicy != null) {
+                    httpClientBuilder.addInterceptor(new RateLimitInterceptor(this.rateLimitPolicy, client.metrics));
+                }
+                if (loadBalancingInterceptor != null) {
+                    httpClientBuilder.addInterceptor(loadBalancingInterceptor);
+                }
+                if (this.circuitBreakerPolicy != null) {
+                    httpClientBuilder.addInterceptor(new CircuitBreakerInterceptor(this.circuitBreakerPolicy, client.metrics));
+                }
                 this.httpClient = httpClientBuilder.build();
             }
 
             if (this.codecs == null) {
-                var objectMapper = new ObjectMapper();
-                this.codecs = JsonCodec.newBuilder()
-//                        .decoder(new ObjectMapperDecoder(objectMapper))
-//                        .encoder(new ObjectMapperEncoder(objectMapper))
-                        .build();
+                this.codecs = JsonCodec.defaults();
             }
 
+            if (this.callbackExecutor == null) {
+                this.callbackExecutor = virtualThreadExecutor != null ? virtualThreadExecutor : ForkJoinPool.commonPool();
+            }
 
             client.baseUri = this.baseUri;
+            client.baseUris = this.baseUris != null ? this.baseUris : List.of(this.baseUri);
             client.httpClient = this.httpClient;
+            // each hedge is a call of its own against the concurrency limit.
+            Call.Factory callFactory = this.httpClient;
+            if (this.concurrencyLimitPolicy != null) {
+                callFactory = new ConcurrencyLimitingCallFactory(this.httpClient, this.concurrencyLimitPolicy, client.metrics);
+            }
+            if (this.hedgingPolicy != null) {
+                callFactory = new HedgingCallFactory(callFactory, this.hedgingPolicy, client.metrics);
+            }
+            client.callFactory = callFactory;
             client.codecs = this.codecs;
+            client.callbackExecutor = this.callbackExecutor;
+
+            GreetingsApi greetings = new GreetingsApiImpl(client);
+            if (this.coalesceRequests) {
+                greetings = new CoalescingGreetingsApi(greetings, client.metrics);
+            }
+            if (this.cacheTtl != null) {
+                var cachingGreetings = new CachingGreetingsApi(greetings, this.cacheMaxEntries, this.cacheTtl, client.metrics);
+                client.greetingsCache = cachingGreetings;
+                greetings = cachingGreetings;
+            }
+            client.greetings = greetings;
+            client.greetingsAsync = new GreetingsAsyncApiImpl(client);
             return client;
         }
+
+        private LoadBalancingInterceptor loadBalancingInterceptor(HelloMetrics metrics) {
+            if (this.baseUris == null || this.baseUris.size() < 2) {
+                return null;
+            }
+            var baseUrls = this.baseUris.stream().map(HttpUrl::get).toList();
+            return new LoadBalancingInterceptor(baseUrls, this.loadBalancerPolicy, metrics);
+        }
+
+        private CompressionInterceptor compressionInterceptor() {
+            if (this.gzipRequestMinBytes < 0 && this.responseEncodings == null) {
+                return null;
+            }
+            var decompressors = new ArrayList<Decompressor>();
+            if (this.responseEncodings != null) {
+                var available = Decompressors.available();
+                for (var decompressor : this.decompressors) {
+                    available.put(decompressor.encoding().toLowerCase(Locale.ROOT), decompressor);
+                }
+                for (var encoding : this.responseEncodings) {
+                    var decompressor = available.get(encoding.toLowerCase(Locale.ROOT));
+                    if (decompressor == null) {
+                        throw new IllegalArgumentException("No decompressor for the " + encoding + " encoding, available: " + available.keySet());
+                    }
+                    decompressors.add(decompressor);
+                }
+            }
+            return new CompressionInterceptor(this.gzipRequestMinBytes, decompressors);
+        }
     }
 }
@@ -0,0 +1,40 @@
+package io.etip.sdk.hello;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+
+// Counters and gauges of a HelloClient, the names are dot separated, eg. `greetings.getGreeting.coalesced`.
+// Components keep a reference to their counters, so the hot path is a single LongAdder increment.
+public class HelloMetrics {
+    private final ConcurrentMap<String, LongAdder> counters = new ConcurrentHashMap<>();
+    private final ConcurrentMap<String, LongSupplier> gauges = new ConcurrentHashMap<>();
+
+    public LongAdder counter(String name) {
+        return counters.computeIfAbsent(name, key -> new LongAdder());
+    }
+
+    public void gauge(String name, LongSupplier value) {
+        gauges.put(name, value);
+    }
+
+    // the current value of a counter or a gauge, 0 if it is not registered.
+    public long get(String name) {
+        var counter = counters.get(name);
+        if (counter != null) {
+            return counter.sum();
+        }
+        var gauge = gauges.get(name);
+        return gauge != null ? gauge.getAsLong() : 0;
+    }
+
+    public Map<String, Long> snapshot() {
+        var snapshot = new TreeMap<String, Long>();
+        counters.forEach((name, counter) -> snapshot.put(name, counter.sum()));
+        gauges.forEach((name, gauge) -> snapshot.put(name, gauge.getAsLong()));
+        return snapshot;
+    }
+}
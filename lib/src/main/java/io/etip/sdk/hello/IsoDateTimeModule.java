@@ -0,0 +1,154 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.InstantDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.deser.LocalDateTimeDeserializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.InstantSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.LocalDateTimeSerializer;
+import com.fasterxml.jackson.datatype.jsr310.ser.OffsetDateTimeSerializer;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+
+// The IsoDateTimes fast path for the databind codecs, registered after the JavaTimeModule of the default ObjectMapper.
+// Everything the fast path does not cover, the other shapes and forms, @JsonFormat and the type ids,
+// is delegated to the JavaTimeModule (de)serializers.
+final class IsoDateTimeModule extends SimpleModule {
+
+    IsoDateTimeModule() {
+        super("IsoDateTimeModule");
+        addDeserializer(LocalDateTime.class, new Deserializer<>(LocalDateTime.class, LocalDateTimeDeserializer.INSTANCE,
+                (chars, offset, length, ctxt) -> IsoDateTimes.parseLocalDateTime(chars, offset, length)));
+        addDeserializer(Instant.class, new Deserializer<>(Instant.class, InstantDeserializer.INSTANT,
+                (chars, offset, length, ctxt) -> IsoDateTimes.parseInstant(chars, offset, length)));
+        addDeserializer(OffsetDateTime.class, new Deserializer<>(OffsetDateTime.class, InstantDeserializer.OFFSET_DATE_TIME,
+                IsoDateTimeModule::parseOffsetDateTime));
+        addSerializer(LocalDateTime.class, new Serializer<>(LocalDateTime.class, LocalDateTimeSerializer.INSTANCE,
+                IsoDateTimes::formatLocalDateTime));
+        addSerializer(Instant.class, new Serializer<>(Instant.class, InstantSerializer.INSTANCE,
+                IsoDateTimes::formatInstant));
+        addSerializer(OffsetDateTime.class, new Serializer<>(OffsetDateTime.class, OffsetDateTimeSerializer.INSTANCE,
+                IsoDateTimes::formatOffsetDateTime));
+    }
+
+    // as the JavaTimeModule, the offset is adjusted to the context time zone, UTC by default.
+    private static OffsetDateTime parseOffsetDateTime(char[] chars, int offset, int length, DeserializationContext ctxt) {
+        var value = IsoDateTimes.parseOffsetDateTime(chars, offset, length);
+        if (value == null || !ctxt.isEnabled(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)) {
+            return value;
+        }
+        var zone = ctxt.getTimeZone().toZoneId();
+        return value.withOffsetSameInstant(zone.getRules().getOffset(value.toLocalDateTime()));
+    }
+
+    @FunctionalInterface
+    private interface Parser<T> {
+        // null when the text is not in the canonical form.
+        T parse(char[] chars, int offset, int length, DeserializationContext ctxt);
+    }
+
+    @FunctionalInterface
+    private interface Formatter<T> {
+        // the end index, -1 when the value is not covered.
+        int format(T value, char[] out, int offset);
+    }
+
+    private static final class Deserializer<T> extends StdScalarDeserializer<T> implements ContextualDeserializer {
+        private final JsonDeserializer<T> delegate;
+        private final Parser<T> parser;
+
+        Deserializer(Class<T> type, JsonDeserializer<T> delegate, Parser<T> parser) {
+            super(type);
+            this.delegate = delegate;
+            this.parser = parser;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                var value = parser.parse(p.getTextCharacters(), p.getTextOffset(), p.getTextLength(), ctxt);
+                if (value != null) {
+                    return value;
+                }
+            }
+            return delegate.deserialize(p, ctxt);
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer)
+                throws IOException {
+            return delegate.deserializeWithType(p, ctxt, typeDeserializer);
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property)
+                throws JsonMappingException {
+            var format = findFormatOverrides(ctxt, property, handledType());
+            if (format == null || format.equals(JsonFormat.Value.empty())) {
+                return this;
+            }
+            return ((ContextualDeserializer) delegate).createContextual(ctxt, property);
+        }
+    }
+
+    private static final class Serializer<T> extends StdSerializer<T> implements ContextualSerializer {
+        private final JsonSerializer<T> delegate;
+        private final Formatter<T> formatter;
+
+        Serializer(Class<T> type, JsonSerializer<T> delegate, Formatter<T> formatter) {
+            super(type);
+            this.delegate = delegate;
+            this.formatter = formatter;
+        }
+
+        @Override
+        public void serialize(T value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            // an explicit time zone may apply to the OffsetDateTime, leave it to the delegate.
+            if (!provider.isEnabled(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS) && !provider.getConfig().hasExplicitTimeZone()) {
+                var chars = new char[IsoDateTimes.MAX_LENGTH];
+                int length = formatter.format(value, chars, 0);
+                if (length >= 0) {
+                    gen.writeString(chars, 0, length);
+                    return;
+                }
+            }
+            delegate.serialize(value, gen, provider);
+        }
+
+        @Override
+        public void serializeWithType(T value, JsonGenerator gen, SerializerProvider provider, TypeSerializer typeSerializer)
+                throws IOException {
+            delegate.serializeWithType(value, gen, provider, typeSerializer);
+        }
+
+        @Override
+        public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property)
+                throws JsonMappingException {
+            var format = findFormatOverrides(provider, property, handledType());
+            if (format == null || format.equals(JsonFormat.Value.empty())) {
+                return this;
+            }
+            return ((ContextualSerializer) delegate).createContextual(provider, property);
+        }
+    }
+}
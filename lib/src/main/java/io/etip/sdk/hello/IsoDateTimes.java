@@ -0,0 +1,232 @@
+package io.etip.sdk.hello;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+// ISO-8601 parsing and formatting of LocalDateTime, Instant and OffsetDateTime on the chars of the parser buffer,
+// without the DateTimeFormatter machinery and without an intermediate String.
+// The fast path covers the canonical forms, `2024-08-01T10:15:30[.123][Z|+02:00]`, the parse methods return null
+// for anything else and the format methods return -1, the callers then fall back to DateTimeFormatter,
+// so the lenient forms and the error messages are unchanged.
+final class IsoDateTimes {
+    // yyyy-MM-ddTHH:mm:ss.nnnnnnnnn+HH:MM
+    static final int MAX_LENGTH = 35;
+
+    private static final int[] POW10 = {1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000, 100_000_000, 1_000_000_000};
+
+    private IsoDateTimes() {
+    }
+
+    // the ISO_LOCAL_DATE_TIME form, yyyy-MM-ddTHH:mm[:ss[.fraction]].
+    static LocalDateTime parseLocalDateTime(char[] chars, int offset, int length) {
+        return parseLocal(chars, offset, offset + length);
+    }
+
+    // the ISO_INSTANT form in UTC, ending with `Z`.
+    static Instant parseInstant(char[] chars, int offset, int length) {
+        int end = offset + length;
+        if (length < 17 || (chars[end - 1] != 'Z' && chars[end - 1] != 'z')) {
+            return null;
+        }
+        var local = parseLocal(chars, offset, end - 1);
+        return local == null ? null : local.toInstant(ZoneOffset.UTC);
+    }
+
+    // the ISO_OFFSET_DATE_TIME form, ending with `Z` or `+HH:MM`.
+    static OffsetDateTime parseOffsetDateTime(char[] chars, int offset, int length) {
+        int end = offset + length;
+        if (length < 17) {
+            return null;
+        }
+        if (chars[end - 1] == 'Z' || chars[end - 1] == 'z') {
+            var local = parseLocal(chars, offset, end - 1);
+            return local == null ? null : OffsetDateTime.of(local, ZoneOffset.UTC);
+        }
+        if (length < 22 || chars[end - 3] != ':' || (chars[end - 6] != '+' && chars[end - 6] != '-')) {
+            return null;
+        }
+        int hours = digits2(chars, end - 5);
+        int minutes = digits2(chars, end - 2);
+        var local = parseLocal(chars, offset, end - 6);
+        if (local == null || hours < 0 || minutes < 0) {
+            return null;
+        }
+        try {
+            int sign = chars[end - 6] == '-' ? -1 : 1;
+            return OffsetDateTime.of(local, ZoneOffset.ofHoursMinutes(sign * hours, sign * minutes));
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    static LocalDateTime parseLocalDateTime(String text) {
+        var chars = text.toCharArray();
+        var value = parseLocalDateTime(chars, 0, chars.length);
+        return value != null ? value : LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME);
+    }
+
+    static Instant parseInstant(String text) {
+        var chars = text.toCharArray();
+        var value = parseInstant(chars, 0, chars.length);
+        return value != null ? value : DateTimeFormatter.ISO_INSTANT.parse(text, Instant::from);
+    }
+
+    static OffsetDateTime parseOffsetDateTime(String text) {
+        var chars = text.toCharArray();
+        var value = parseOffsetDateTime(chars, 0, chars.length);
+        return value != null ? value : OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    // as DateTimeFormatter.ISO_LOCAL_DATE_TIME, the seconds are always written, the fraction without trailing zeros,
+    // returns the end index, or -1 for a year outside of 0000-9999.
+    static int formatLocalDateTime(LocalDateTime value, char[] out, int offset) {
+        int i = formatLocal(value, out, offset);
+        if (i < 0) {
+            return -1;
+        }
+        int nano = value.getNano();
+        if (nano == 0) {
+            return i;
+        }
+        int digits = 9;
+        while (nano % 10 == 0) {
+            nano /= 10;
+            digits--;
+        }
+        out[i++] = '.';
+        return writeDigits(nano, digits, out, i);
+    }
+
+    // as DateTimeFormatter.ISO_INSTANT, the fraction is written in groups of three digits.
+    static int formatInstant(Instant value, char[] out, int offset) {
+        // the epoch seconds of 0000-01-01T00:00:00Z and 10000-01-01T00:00:00Z.
+        if (value.getEpochSecond() < -62_167_219_200L || value.getEpochSecond() >= 253_402_300_800L) {
+            return -1;
+        }
+        var local = LocalDateTime.ofEpochSecond(value.getEpochSecond(), value.getNano(), ZoneOffset.UTC);
+        int i = formatLocal(local, out, offset);
+        int nano = value.getNano();
+        if (nano != 0) {
+            out[i++] = '.';
+            if (nano % 1_000_000 == 0) {
+                i = writeDigits(nano / 1_000_000, 3, out, i);
+            } else if (nano % 1_000 == 0) {
+                i = writeDigits(nano / 1_000, 6, out, i);
+            } else {
+                i = writeDigits(nano, 9, out, i);
+            }
+        }
+        out[i++] = 'Z';
+        return i;
+    }
+
+    // as DateTimeFormatter.ISO_OFFSET_DATE_TIME, returns -1 for an offset with seconds as well.
+    static int formatOffsetDateTime(OffsetDateTime value, char[] out, int offset) {
+        int totalSeconds = value.getOffset().getTotalSeconds();
+        if (totalSeconds % 60 != 0) {
+            return -1;
+        }
+        int i = formatLocalDateTime(value.toLocalDateTime(), out, offset);
+        if (i < 0) {
+            return -1;
+        }
+        if (totalSeconds == 0) {
+            out[i++] = 'Z';
+            return i;
+        }
+        out[i++] = totalSeconds < 0 ? '-' : '+';
+        int minutes = Math.abs(totalSeconds) / 60;
+        i = writeDigits(minutes / 60, 2, out, i);
+        out[i++] = ':';
+        return writeDigits(minutes % 60, 2, out, i);
+    }
+
+    private static LocalDateTime parseLocal(char[] c, int offset, int end) {
+        if (end - offset < 16
+                || c[offset + 4] != '-' || c[offset + 7] != '-'
+                || (c[offset + 10] != 'T' && c[offset + 10] != 't')
+                || c[offset + 13] != ':') {
+            return null;
+        }
+        int year = digits2(c, offset);
+        int yearLow = digits2(c, offset + 2);
+        int month = digits2(c, offset + 5);
+        int day = digits2(c, offset + 8);
+        int hour = digits2(c, offset + 11);
+        int minute = digits2(c, offset + 14);
+        if ((year | yearLow | month | day | hour | minute) < 0) {
+            return null;
+        }
+
+        int second = 0;
+        int nano = 0;
+        int i = offset + 16;
+        if (i < end) {
+            if (c[i] != ':' || end - i < 3 || (second = digits2(c, i + 1)) < 0) {
+                return null;
+            }
+            i += 3;
+            if (i < end) {
+                int digits = end - i - 1;
+                if (c[i] != '.' || digits < 1 || digits > 9) {
+                    return null;
+                }
+                for (i++; i < end; i++) {
+                    int digit = c[i] - '0';
+                    if (digit < 0 || digit > 9) {
+                        return null;
+                    }
+                    nano = nano * 10 + digit;
+                }
+                nano *= POW10[9 - digits];
+            }
+        }
+        try {
+            return LocalDateTime.of(year * 100 + yearLow, month, day, hour, minute, second, nano);
+        } catch (DateTimeException e) {
+            return null;
+        }
+    }
+
+    // yyyy-MM-ddTHH:mm:ss
+    private static int formatLocal(LocalDateTime value, char[] out, int i) {
+        int year = value.getYear();
+        if (year < 0 || year > 9999) {
+            return -1;
+        }
+        i = writeDigits(year, 4, out, i);
+        out[i++] = '-';
+        i = writeDigits(value.getMonthValue(), 2, out, i);
+        out[i++] = '-';
+        i = writeDigits(value.getDayOfMonth(), 2, out, i);
+        out[i++] = 'T';
+        i = writeDigits(value.getHour(), 2, out, i);
+        out[i++] = ':';
+        i = writeDigits(value.getMinute(), 2, out, i);
+        out[i++] = ':';
+        return writeDigits(value.getSecond(), 2, out, i);
+    }
+
+    // the two digits at the offset, -1 if they are not digits.
+    private static int digits2(char[] c, int offset) {
+        int high = c[offset] - '0';
+        int low = c[offset + 1] - '0';
+        if (high < 0 || high > 9 || low < 0 || low > 9) {
+            return -1;
+        }
+        return high * 10 + low;
+    }
+
+    // zero-padded to the number of digits.
+    private static int writeDigits(int value, int digits, char[] out, int offset) {
+        for (int i = offset + digits - 1; i >= offset; i--) {
+            out[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return offset + digits;
+    }
+}
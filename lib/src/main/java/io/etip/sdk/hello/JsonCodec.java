@@ -1,8 +1,29 @@
 package io.etip.sdk.hello;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// The JSON encoder and decoder, plus the optional binary formats the backend may answer with.
+// When binary formats are registered, the requests advertise them in the Accept header, in registration order,
+// and each response is decoded by the decoder of its Content-Type, JSON remains the fallback.
 public class JsonCodec {
+    public static final MediaType APPLICATION_CBOR = MediaType.get("application/cbor");
+    public static final MediaType APPLICATION_SMILE = MediaType.get("application/x-jackson-smile");
+
     private JsonEncoder encoder;
     private JsonDecoder decoder;
+    private List<Format> formats;
+    private String accept;
 
     public JsonEncoder encoder() {
         return encoder;
@@ -11,7 +32,88 @@ public class JsonCodec {
     public JsonDecoder decoder() {
         return decoder;
     }
-    
+
+    // the encoder of the media type, the JSON encoder if the format is not registered.
+    public JsonEncoder encoder(MediaType mediaType) {
+        var format = format(mediaType);
+        return format != null ? format.encoder() : encoder;
+    }
+
+    // the decoder of a response Content-Type, the JSON decoder if it is missing or not registered.
+    public JsonDecoder decoder(MediaType contentType) {
+        var format = format(contentType);
+        return format != null ? format.decoder() : decoder;
+    }
+
+    // the Accept header of the requests, null when only JSON is supported.
+    public String accept() {
+        return accept;
+    }
+
+    // the body of a POST/PUT request, streamed by the encoder when the request is written.
+    public RequestBody requestBody(Object value) {
+        return new JsonRequestBody(encoder, value);
+    }
+
+    public RequestBody requestBody(Object value, MediaType mediaType) {
+        var format = format(mediaType);
+        return format != null ? new JsonRequestBody(format.encoder(), value, format.mediaType()) : requestBody(value);
+    }
+
+    private Format format(MediaType mediaType) {
+        if (mediaType == null) {
+            return null;
+        }
+        for (var format : formats) {
+            if (format.mediaType().type().equals(mediaType.type()) && format.mediaType().subtype().equals(mediaType.subtype())) {
+                return format;
+            }
+        }
+        return null;
+    }
+
+    // The Jackson codec used when no codecs are set on HelloClient.Builder, it is shared by all clients,
+    // so the serializers resolved by one client are reused by the others.
+    public static JsonCodec defaults() {
+        return DefaultCodec.INSTANCE;
+    }
+
+    // The default codec plus a binary format, APPLICATION_CBOR or APPLICATION_SMILE, preferred over JSON
+    // when the backend supports it, eg. HelloClient.newBuilder().codecs(JsonCodec.defaults(JsonCodec.APPLICATION_CBOR)).
+    public static JsonCodec defaults(MediaType binaryFormat) {
+        if (APPLICATION_CBOR.equals(binaryFormat)) {
+            return CborCodec.INSTANCE;
+        }
+        if (APPLICATION_SMILE.equals(binaryFormat)) {
+            return SmileCodec.INSTANCE;
+        }
+        throw new IllegalArgumentException("Unsupported binary format: " + binaryFormat);
+    }
+
+    // The default codec deduplicating the configured String fields, eg. for long-lived cached responses,
+    // the codec is not shared, the deduplication cache belongs to the clients using it.
+    public static JsonCodec defaults(StringDeduplication deduplication) {
+        var objectMapper = defaultObjectMapper().registerModule(deduplication.module());
+        return JsonCodec.newBuilder()
+                .decoder(new RecordCodecDecoder(objectMapper.getFactory(), new ObjectMapperDecoder(objectMapper), deduplication))
+                .encoder(new RecordCodecEncoder(objectMapper.getFactory(), new ObjectMapperEncoder(objectMapper)))
+                .build();
+    }
+
+    public static ObjectMapper defaultObjectMapper() {
+        return configure(new ObjectMapper());
+    }
+
+    private static <M extends ObjectMapper> M configure(M objectMapper) {
+        objectMapper
+                .registerModule(new JavaTimeModule())
+                .registerModule(new IsoDateTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        return objectMapper;
+    }
+
     public static Builder newBuilder() {
         return new Builder();
     }
@@ -19,6 +121,7 @@ public class JsonCodec {
     static class Builder {
         private JsonEncoder encoder;
         private JsonDecoder decoder;
+        private final List<Format> formats = new ArrayList<>();
 
         public Builder encoder(JsonEncoder encoder) {
             this.encoder = encoder;
@@ -30,11 +133,60 @@ public class JsonCodec {
             return this;
         }
 
+        // a binary format, the formats are preferred over JSON in the order they are added.
+        public Builder format(MediaType mediaType, JsonEncoder encoder, JsonDecoder decoder) {
+            this.formats.add(new Format(mediaType, encoder, decoder));
+            return this;
+        }
+
         public JsonCodec build() {
             var codec = new JsonCodec();
             codec.encoder = this.encoder;
             codec.decoder = this.decoder;
+            codec.formats = List.copyOf(this.formats);
+            if (!this.formats.isEmpty()) {
+                var accept = new StringBuilder();
+                for (var format : this.formats) {
+                    accept.append(format.mediaType().type()).append('/').append(format.mediaType().subtype()).append(", ");
+                }
+                codec.accept = accept.append("application/json;q=0.9").toString();
+            }
             return codec;
         }
     }
+
+    private record Format(MediaType mediaType, JsonEncoder encoder, JsonDecoder decoder) {
+    }
+
+    // initialized on first use, the @GenerateCodec records skip databind, the other types fall back to it.
+    private static final class DefaultCodec {
+        private static final JsonCodec INSTANCE;
+
+        static {
+            var objectMapper = defaultObjectMapper();
+            INSTANCE = JsonCodec.newBuilder()
+                    .decoder(new RecordCodecDecoder(objectMapper.getFactory(), new ObjectMapperDecoder(objectMapper)))
+                    .encoder(new RecordCodecEncoder(objectMapper.getFactory(), new ObjectMapperEncoder(objectMapper)))
+                    .build();
+        }
+    }
+
+    private static final class CborCodec {
+        private static final JsonCodec INSTANCE = withBinaryFormat(APPLICATION_CBOR, configure(new CBORMapper()));
+    }
+
+    private static final class SmileCodec {
+        private static final JsonCodec INSTANCE = withBinaryFormat(APPLICATION_SMILE, configure(new SmileMapper()));
+    }
+
+    // the generated codecs run on the binary parsers and generators as well, they only use the streaming API.
+    private static JsonCodec withBinaryFormat(MediaType mediaType, ObjectMapper objectMapper) {
+        return JsonCodec.newBuilder()
+                .encoder(defaults().encoder())
+                .decoder(defaults().decoder())
+                .format(mediaType,
+                        new RecordCodecEncoder(objectMapper.getFactory(), new ObjectMapperEncoder(objectMapper)),
+                        new RecordCodecDecoder(objectMapper.getFactory(), new ObjectMapperDecoder(objectMapper)))
+                .build();
+    }
 }
@@ -1,28 +1,77 @@
 package io.etip.sdk.hello;
 
-import java.util.function.BiFunction;
+import okio.BufferedSource;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Stream;
 
 @FunctionalInterface
 public interface JsonDecoder {
 
     <T> T decode(String json, Class<T> clazz);
-}
 
-// Implementations examples of Jackson ObjectMapper and Gson
-/*
-class ObjectMapperDecoder implements JsonDecoder {
-    private final ObjectMapper objectMapper;
+    // The binary overloads fall back to the String variant, streaming decoders should override them
+    // to parse the UTF-8 bytes directly, without the intermediate String copy.
+    default <T> T decode(InputStream json, Class<T> clazz) {
+        try {
+            return decode(new String(json.readAllBytes(), StandardCharsets.UTF_8), clazz);
+        } catch (IOException e) {
+            throw new HelloException(e);
+        }
+    }
 
-    public ObjectMapperDecoder(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    default <T> T decode(byte[] json, Class<T> clazz) {
+        return decode(new String(json, StandardCharsets.UTF_8), clazz);
     }
 
-    @Override
-    public <T> T decode(String json, Class<T> clazz) {
-        return objectMapper.readValue(json, clazz);
+    // the response body of OkHttp, the default pipeline decodes from it.
+    default <T> T decode(BufferedSource json, Class<T> clazz) {
+        return decode(json.inputStream(), clazz);
+    }
+
+    // Parameterized types, eg. decode(json, TypeToken.listOf(GetGreetingResponse.class)),
+    // decoders supporting only classes accept the type tokens of a plain class.
+    default <T> T decode(String json, TypeToken<T> type) {
+        if (type.type() instanceof Class<?> clazz) {
+            @SuppressWarnings("unchecked")
+            var value = (T) decode(json, clazz);
+            return value;
+        }
+        throw new HelloException(getClass().getName() + " does not support decoding " + type);
+    }
+
+    default <T> T decode(InputStream json, TypeToken<T> type) {
+        try {
+            return decode(new String(json.readAllBytes(), StandardCharsets.UTF_8), type);
+        } catch (IOException e) {
+            throw new HelloException(e);
+        }
+    }
+
+    default <T> T decode(BufferedSource json, TypeToken<T> type) {
+        return decode(json.inputStream(), type);
+    }
+
+    // The elements of a top-level JSON array, the stream must be closed, it closes the input.
+    // Streaming decoders parse one element at a time as the stream is consumed, so a large array is never
+    // held in memory as a whole, this fallback decodes the full list first.
+    default <T> Stream<T> decodeArray(InputStream json, Class<T> elementType) {
+        try (json) {
+            return decode(json, TypeToken.listOf(elementType)).stream();
+        } catch (IOException e) {
+            throw new HelloException(e);
+        }
+    }
+
+    default <T> Stream<T> decodeArray(BufferedSource json, Class<T> elementType) {
+        return decodeArray(json.inputStream(), elementType);
     }
 }
 
+// The default implementation is ObjectMapperDecoder, implementation examples of Gson and JSON-B
+/*
 class GsonDecoder implements JsonDecoder {
     private final Gson gson;
 
@@ -34,6 +83,11 @@ class GsonDecoder implements JsonDecoder {
     public <T> T decode(String json, Class<T> clazz) {
         return gson.fromJson(json, clazz);
     }
+
+    @Override
+    public <T> T decode(InputStream json, Class<T> clazz) {
+        return gson.fromJson(new InputStreamReader(json, StandardCharsets.UTF_8), clazz);
+    }
 }
 
 class JsonbDecoder implements JsonDecoder {
@@ -47,5 +101,10 @@ class JsonbDecoder implements JsonDecoder {
     public <T> T decode(String json, Class<T> clazz) {
         return jsonb.fromJson(json, clazz);
     }
+
+    @Override
+    public <T> T decode(InputStream json, Class<T> clazz) {
+        return jsonb.fromJson(json, clazz);
+    }
 }
 */
\ No newline at end of file
@@ -1,29 +1,35 @@
 package io.etip.sdk.hello;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
+import okio.BufferedSink;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
 import java.util.function.Function;
 
 @FunctionalInterface
 public interface JsonEncoder {
     public String encode(Object obj);
-}
-
-// implementation examples of Jackson ObjectMapper and Gson
-/*
-class ObjectMapperEncoder implements JsonEncoder {
-    private final ObjectMapper objectMapper;
 
-    public ObjectMapperEncoder(ObjectMapper objectMapper) {
-        this.objectMapper = objectMapper;
+    // Writes the UTF-8 JSON to the stream and leaves it open, the caller owns the stream.
+    // The default falls back to the String variant, streaming encoders should override it
+    // to serialize straight into the stream, without the intermediate String copy.
+    // The I/O errors of the stream are thrown as is, only the serialization errors are HelloExceptions.
+    default void encode(Object obj, OutputStream out) throws IOException {
+        out.write(encode(obj).getBytes(StandardCharsets.UTF_8));
     }
 
-    @Override
-    public String encode(Object obj) throws JsonProcessingException {
-        return objectMapper.writeValueAsString(obj);
+    // the request body sink of OkHttp, see JsonRequestBody.
+    default void encode(Object obj, BufferedSink sink) throws IOException {
+        var out = sink.outputStream();
+        encode(obj, out);
+        out.flush();
     }
 }
 
+// The default implementation is ObjectMapperEncoder, implementation examples of Gson and JSON-B
+/*
 class GsonEncoder implements JsonEncoder {
     private final Gson gson;
 
@@ -35,6 +41,13 @@ class GsonEncoder implements JsonEncoder {
     public String encode(Object obj) {
         return gson.toJson(obj);
     }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        var writer = new OutputStreamWriter(out, StandardCharsets.UTF_8);
+        gson.toJson(obj, writer);
+        writer.flush();
+    }
 }
 
 class JsonbEncoder implements JsonEncoder {
@@ -48,5 +61,10 @@ class JsonbEncoder implements JsonEncoder {
     public String encode(Object obj) {
         return jsonb.toJson(obj);
     }
+
+    @Override
+    public void encode(Object obj, OutputStream out) {
+        jsonb.toJson(obj, out);
+    }
 }
 */
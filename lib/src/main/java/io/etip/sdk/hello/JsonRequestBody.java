@@ -0,0 +1,46 @@
+package io.etip.sdk.hello;
+
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+
+import java.io.IOException;
+
+// A request body serialized lazily, the encoder writes straight into the socket sink when OkHttp sends the request,
+// so a large payload is never held in memory as a String or a byte array.
+// The length is unknown upfront, the body is sent chunked (HTTP/1.1) or as DATA frames (HTTP/2).
+public class JsonRequestBody extends RequestBody {
+    public static final MediaType APPLICATION_JSON = MediaType.get("application/json; charset=utf-8");
+
+    private final JsonEncoder encoder;
+    private final Object value;
+    private final MediaType contentType;
+
+    public JsonRequestBody(JsonEncoder encoder, Object value) {
+        this(encoder, value, APPLICATION_JSON);
+    }
+
+    // the encoder of a binary format, see JsonCodec.requestBody(value, mediaType).
+    public JsonRequestBody(JsonEncoder encoder, Object value, MediaType contentType) {
+        this.encoder = encoder;
+        this.value = value;
+        this.contentType = contentType;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return contentType;
+    }
+
+    @Override
+    public long contentLength() {
+        return -1;
+    }
+
+    // the value is serialized again if OkHttp has to resend the body, eg. on a redirect or a retry.
+    // A failure of the socket fails the call as an IOException, like any other OkHttp I/O error.
+    @Override
+    public void writeTo(BufferedSink sink) throws IOException {
+        encoder.encode(value, sink);
+    }
+}
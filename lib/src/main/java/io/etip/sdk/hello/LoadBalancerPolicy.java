@@ -0,0 +1,81 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The balancing of the calls over the base URIs of a client, see HelloClient.Builder.baseUris(...).
+// Each attempt goes to the cheaper of two base URIs picked at random, the cost being the peak EWMA latency times
+// the outstanding calls, so a slow or busy replica gets fewer calls without herding all the calls on the fastest one.
+// The latency average decays with ewmaDecay. A base URI failing consecutiveFailures times in a row (connection
+// failures and 5xx) is ejected for baseEjectionTime times its number of ejections, capped to 10 times, and at most
+// maxEjectionRatio of the base URIs are ejected at once.
+public final class LoadBalancerPolicy {
+    public static final Duration DEFAULT_EWMA_DECAY = Duration.ofSeconds(10);
+    public static final int DEFAULT_CONSECUTIVE_FAILURES = 5;
+    public static final Duration DEFAULT_BASE_EJECTION_TIME = Duration.ofSeconds(30);
+    public static final double DEFAULT_MAX_EJECTION_RATIO = 0.5;
+
+    private final Duration ewmaDecay;
+    private final int consecutiveFailures;
+    private final Duration baseEjectionTime;
+    private final double maxEjectionRatio;
+
+    private LoadBalancerPolicy(Builder builder) {
+        this.ewmaDecay = builder.ewmaDecay;
+        this.consecutiveFailures = builder.consecutiveFailures;
+        this.baseEjectionTime = builder.baseEjectionTime;
+        this.maxEjectionRatio = builder.maxEjectionRatio;
+    }
+
+    public static LoadBalancerPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public Duration ewmaDecay() {
+        return ewmaDecay;
+    }
+
+    public int consecutiveFailures() {
+        return consecutiveFailures;
+    }
+
+    public Duration baseEjectionTime() {
+        return baseEjectionTime;
+    }
+
+    public double maxEjectionRatio() {
+        return maxEjectionRatio;
+    }
+
+    public static class Builder {
+        private Duration ewmaDecay = DEFAULT_EWMA_DECAY;
+        private int consecutiveFailures = DEFAULT_CONSECUTIVE_FAILURES;
+        private Duration baseEjectionTime = DEFAULT_BASE_EJECTION_TIME;
+        private double maxEjectionRatio = DEFAULT_MAX_EJECTION_RATIO;
+
+        public Builder ewmaDecay(Duration ewmaDecay) {
+            if (ewmaDecay.isNegative() || ewmaDecay.isZero()) {
+                throw new IllegalArgumentException("ewmaDecay must be positive");
+            }
+            this.ewmaDecay = ewmaDecay;
+            return this;
+        }
+
+        public Builder outlierEjection(int consecutiveFailures, Duration baseEjectionTime, double maxEjectionRatio) {
+            if (consecutiveFailures < 1 || maxEjectionRatio < 0 || maxEjectionRatio > 1) {
+                throw new IllegalArgumentException("outlier ejection requires positive consecutiveFailures and a ratio in [0, 1]");
+            }
+            this.consecutiveFailures = consecutiveFailures;
+            this.baseEjectionTime = baseEjectionTime;
+            this.maxEjectionRatio = maxEjectionRatio;
+            return this;
+        }
+
+        public LoadBalancerPolicy build() {
+            return new LoadBalancerPolicy(this);
+        }
+    }
+}
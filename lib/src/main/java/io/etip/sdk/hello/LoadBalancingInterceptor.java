@@ -0,0 +1,198 @@
+package io.etip.sdk.hello;
+
+import okhttp3.HttpUrl;
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Sends each attempt to one of the base URIs of the client with the power of two choices, see LoadBalancerPolicy.
+// The endpoints are compiled against the first base URI, their URLs are rebased on the chosen one, the requests
+// to other URLs pass through. Installed inside the RetryInterceptor, so a retry may go to another base URI,
+// and a hedge is likely to, as the primary call counts as outstanding.
+final class LoadBalancingInterceptor implements Interceptor {
+    private static final int MAX_EJECTION_MULTIPLIER = 10;
+
+    private final LoadBalancerPolicy policy;
+    private final HttpUrl primaryUrl;
+    private final String primaryPrefix;
+    private final Backend[] backends;
+    private final double decayNanos;
+    private final long baseEjectionNanos;
+    private final int maxEjected;
+    private final LongAdder ejections;
+
+    LoadBalancingInterceptor(List<HttpUrl> baseUrls, LoadBalancerPolicy policy, HelloMetrics metrics) {
+        this.policy = policy;
+        this.primaryUrl = baseUrls.get(0);
+        this.primaryPrefix = prefix(primaryUrl);
+        this.backends = new Backend[baseUrls.size()];
+        for (int i = 0; i < backends.length; i++) {
+            var backend = new Backend(baseUrls.get(i));
+            backends[i] = backend;
+            var name = "loadbalancer." + backend.baseUrl.host() + ":" + backend.baseUrl.port();
+            metrics.gauge(name + ".outstanding", backend.outstanding::get);
+            metrics.gauge(name + ".latency.micros", () -> backend.ewmaNanos.get() / 1000);
+            metrics.gauge(name + ".ejected", () -> backend.isEjected(System.nanoTime()) ? 1 : 0);
+        }
+        this.decayNanos = policy.ewmaDecay().toNanos();
+        this.baseEjectionNanos = policy.baseEjectionTime().toNanos();
+        this.maxEjected = (int) Math.floor(policy.maxEjectionRatio() * backends.length);
+        this.ejections = metrics.counter("loadbalancer.ejections");
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var url = request.url();
+        if (!isPrimary(url)) {
+            return chain.proceed(request);
+        }
+
+        var backend = choose(System.nanoTime());
+        if (backend.baseUrl != primaryUrl) {
+            request = request.newBuilder().url(backend.rebase(url, primaryPrefix)).build();
+        }
+        backend.outstanding.incrementAndGet();
+        long start = System.nanoTime();
+        Response response = null;
+        boolean rejected = false;
+        try {
+            response = chain.proceed(request);
+            return response;
+        } catch (IOException e) {
+            // rejected by the SDK, eg. an open circuit, the backend was not called.
+            rejected = e.getCause() instanceof HelloException;
+            throw e;
+        } finally {
+            backend.outstanding.decrementAndGet();
+            if (!rejected && (response != null || !chain.call().isCanceled())) {
+                long end = System.nanoTime();
+                record(backend, response == null || response.code() >= 500, end - start, end);
+            }
+        }
+    }
+
+    // the cheaper of two distinct base URIs drawn at random among the ones not ejected,
+    // all of them when too many are ejected.
+    Backend choose(long now) {
+        if (backends.length == 1) {
+            return backends[0];
+        }
+        var random = ThreadLocalRandom.current();
+        var first = pick(random.nextInt(backends.length), null, now);
+        var second = pick(random.nextInt(backends.length), first, now);
+        if (second == null) {
+            return first;
+        }
+        return second.cost() < first.cost() ? second : first;
+    }
+
+    private Backend pick(int start, Backend other, long now) {
+        Backend fallback = null;
+        for (int i = 0; i < backends.length; i++) {
+            var backend = backends[(start + i) % backends.length];
+            if (backend == other) {
+                continue;
+            }
+            if (!backend.isEjected(now)) {
+                return backend;
+            }
+            if (fallback == null) {
+                fallback = backend;
+            }
+        }
+        return other == null ? fallback : null;
+    }
+
+    void record(Backend backend, boolean failure, long latencyNanos, long now) {
+        backend.sample(latencyNanos, now, decayNanos);
+        if (!failure) {
+            backend.consecutiveFailures.set(0);
+            return;
+        }
+        if (backend.consecutiveFailures.incrementAndGet() < policy.consecutiveFailures() || backend.isEjected(now)) {
+            return;
+        }
+        int ejected = 0;
+        for (var other : backends) {
+            if (other.isEjected(now)) {
+                ejected++;
+            }
+        }
+        if (ejected < maxEjected) {
+            int multiplier = Math.min(MAX_EJECTION_MULTIPLIER, backend.ejections.incrementAndGet());
+            backend.ejectedUntil = now + baseEjectionNanos * multiplier;
+            backend.consecutiveFailures.set(0);
+            ejections.increment();
+        }
+    }
+
+    private boolean isPrimary(HttpUrl url) {
+        return url.port() == primaryUrl.port()
+                && url.host().equals(primaryUrl.host())
+                && url.scheme().equals(primaryUrl.scheme())
+                && url.encodedPath().startsWith(primaryPrefix)
+                && (url.encodedPath().length() == primaryPrefix.length() || url.encodedPath().charAt(primaryPrefix.length()) == '/');
+    }
+
+    // the encoded path of a base URL without its trailing slash, the endpoint paths follow it.
+    private static String prefix(HttpUrl baseUrl) {
+        var path = baseUrl.encodedPath();
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    static final class Backend {
+        private final HttpUrl baseUrl;
+        private final String prefix;
+        private final AtomicInteger outstanding = new AtomicInteger();
+        // the peak EWMA of the latency and the time of its last sample.
+        private final AtomicLong ewmaNanos = new AtomicLong();
+        private final AtomicLong lastSample = new AtomicLong(System.nanoTime());
+        private final AtomicInteger consecutiveFailures = new AtomicInteger();
+        private final AtomicInteger ejections = new AtomicInteger();
+        private volatile long ejectedUntil = System.nanoTime();
+
+        Backend(HttpUrl baseUrl) {
+            this.baseUrl = baseUrl;
+            this.prefix = prefix(baseUrl);
+        }
+
+        boolean isEjected(long now) {
+            return ejectedUntil - now > 0;
+        }
+
+        // an idle base URI with no latency sample yet is the cheapest, so it gets probed.
+        private double cost() {
+            return (ewmaNanos.get() + 1.0) * (outstanding.get() + 1);
+        }
+
+        // a latency over the average is taken at once, a lower one is averaged with a weight decaying with time,
+        // so the cost reacts to a slowdown within a call and recovers over ewmaDecay.
+        private void sample(long latencyNanos, long now, double decayNanos) {
+            long elapsed = Math.max(0, now - lastSample.getAndSet(now));
+            double weight = Math.exp(-elapsed / decayNanos);
+            while (true) {
+                long current = ewmaNanos.get();
+                long next = latencyNanos > current ? latencyNanos : (long) (current * weight + latencyNanos * (1 - weight));
+                if (ewmaNanos.compareAndSet(current, next)) {
+                    return;
+                }
+            }
+        }
+
+        private HttpUrl rebase(HttpUrl url, String primaryPrefix) {
+            return url.newBuilder()
+                    .scheme(baseUrl.scheme())
+                    .host(baseUrl.host())
+                    .port(baseUrl.port())
+                    .encodedPath(prefix + url.encodedPath().substring(primaryPrefix.length()))
+                    .build();
+        }
+    }
+}
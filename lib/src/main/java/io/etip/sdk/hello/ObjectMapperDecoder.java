@@ -0,0 +1,106 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Jackson databind decoder, the ObjectReader of each target class is resolved once and cached,
+// so the hot path skips the type lookup of ObjectMapper.readValue(...).
+public class ObjectMapperDecoder implements JsonDecoder {
+    private final ObjectMapper objectMapper;
+    private final ClassValue<ObjectReader> readers;
+    // the readers of the parameterized types, a ClassValue only holds classes.
+    private final Map<Type, ObjectReader> genericReaders = new ConcurrentHashMap<>();
+
+    public ObjectMapperDecoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.readers = new ClassValue<>() {
+            @Override
+            protected ObjectReader computeValue(Class<?> type) {
+                return objectMapper.readerFor(type);
+            }
+        };
+    }
+
+    @Override
+    public <T> T decode(String json, Class<T> clazz) {
+        try {
+            return readers.get(clazz).readValue(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream json, Class<T> clazz) {
+        try {
+            return readers.get(clazz).readValue(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] json, Class<T> clazz) {
+        try {
+            return readers.get(clazz).readValue(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(String json, TypeToken<T> type) {
+        try {
+            return reader(type.type()).readValue(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + type, e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream json, TypeToken<T> type) {
+        try {
+            return reader(type.type()).readValue(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + type, e);
+        }
+    }
+
+    // the MappingIterator unwraps the top-level array and binds one element per next().
+    @Override
+    public <T> Stream<T> decodeArray(InputStream json, Class<T> elementType) {
+        MappingIterator<T> elements;
+        try {
+            elements = readers.get(elementType).readValues(json);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode an array of " + elementType.getName(), e);
+        }
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(elements, Spliterator.ORDERED), false)
+                .onClose(() -> {
+                    try {
+                        elements.close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    private ObjectReader reader(Type type) {
+        if (type instanceof Class<?> clazz) {
+            return readers.get(clazz);
+        }
+        return genericReaders.computeIfAbsent(type, t -> objectMapper.readerFor(objectMapper.getTypeFactory().constructType(t)));
+    }
+}
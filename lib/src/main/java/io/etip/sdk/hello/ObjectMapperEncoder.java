@@ -0,0 +1,47 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+// Jackson databind encoder, the ObjectWriter of each value class is resolved once and cached.
+// The ObjectMapper should disable JsonGenerator.Feature.AUTO_CLOSE_TARGET, the streams belong to the caller.
+public class ObjectMapperEncoder implements JsonEncoder {
+    private final ObjectMapper objectMapper;
+    private final ClassValue<ObjectWriter> writers;
+
+    public ObjectMapperEncoder(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.writers = new ClassValue<>() {
+            @Override
+            protected ObjectWriter computeValue(Class<?> type) {
+                return objectMapper.writerFor(type);
+            }
+        };
+    }
+
+    @Override
+    public String encode(Object obj) {
+        try {
+            return writer(obj).writeValueAsString(obj);
+        } catch (JsonProcessingException e) {
+            throw new HelloException("Failed to encode " + obj.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        try {
+            writer(obj).writeValue(out, obj);
+        } catch (JsonProcessingException e) {
+            throw new HelloException("Failed to encode " + obj.getClass().getName(), e);
+        }
+    }
+
+    private ObjectWriter writer(Object obj) {
+        return obj == null ? objectMapper.writer() : writers.get(obj.getClass());
+    }
+}
@@ -0,0 +1,17 @@
+package io.etip.sdk.hello;
+
+// Thrown without calling the backend when no permit of the client-side rate limit is available in time,
+// see RateLimitPolicy.
+public class RateLimitExceededException extends HelloException {
+    private final String scope;
+
+    public RateLimitExceededException(String scope) {
+        super("The rate limit of " + scope + " is exceeded");
+        this.scope = scope;
+    }
+
+    // `*` for the global rate limit, otherwise the API group or the endpoint name.
+    public String scope() {
+        return scope;
+    }
+}
@@ -0,0 +1,90 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+// Takes a permit of the token bucket of the request scope before each attempt, see RateLimitPolicy.
+// The wait for a permit is bounded by the Deadline of the request as well.
+// Installed inside the RetryInterceptor, a rejected attempt fails with an IOException caused by
+// a RateLimitExceededException, which is not retried and is unwrapped by the API implementations.
+final class RateLimitInterceptor implements Interceptor {
+    private static final String GLOBAL = "*";
+
+    private final RateLimitPolicy policy;
+    private final HelloMetrics metrics;
+    private final long maxWaitNanos;
+    private final ConcurrentMap<String, Limiter> limiters = new ConcurrentHashMap<>();
+
+    RateLimitInterceptor(RateLimitPolicy policy, HelloMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+        this.maxWaitNanos = policy.maxWait().toNanos();
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        var scope = scope(request);
+        var limiter = limiters.computeIfAbsent(scope, this::newLimiter);
+
+        long wait = limiter.bucket().reserve(System.nanoTime(), Deadline.bound(request, maxWaitNanos));
+        if (wait < 0) {
+            limiter.rejected().increment();
+            var exceeded = new RateLimitExceededException(scope);
+            throw new IOException(exceeded.getMessage(), exceeded);
+        }
+        if (wait > 0) {
+            limiter.delayed().increment();
+            sleep(wait);
+        }
+        return chain.proceed(request);
+    }
+
+    private String scope(Request request) {
+        if (policy.scope() == RateLimitPolicy.Scope.GLOBAL) {
+            return GLOBAL;
+        }
+        var endpoint = request.tag(Endpoint.class);
+        if (endpoint == null) {
+            return "http";
+        }
+        if (policy.scope() == RateLimitPolicy.Scope.ENDPOINT) {
+            return endpoint.name();
+        }
+        int dot = endpoint.name().indexOf('.');
+        return dot < 0 ? endpoint.name() : endpoint.name().substring(0, dot);
+    }
+
+    // the metrics of a scope are resolved with its bucket, the hot path only increments the counters.
+    private Limiter newLimiter(String scope) {
+        var bucket = new TokenBucket(policy.permitsPerSecond(), policy.burst(), System.nanoTime());
+        var name = metricName(scope);
+        metrics.gauge(name + ".available", () -> bucket.available(System.nanoTime()));
+        return new Limiter(bucket, metrics.counter(name + ".rejected"), metrics.counter(name + ".delayed"));
+    }
+
+    // `ratelimit.<metric>` for the global bucket, `<scope>.ratelimit.<metric>` otherwise.
+    private static String metricName(String scope) {
+        return GLOBAL.equals(scope) ? "ratelimit" : scope + ".ratelimit";
+    }
+
+    private record Limiter(TokenBucket bucket, LongAdder rejected, LongAdder delayed) {
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a rate limit permit");
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The client-side rate limit, see HelloClient.Builder.rateLimit(...).
+// A token bucket of `burst` permits refilled at permitsPerSecond, per scope: one bucket for the whole client,
+// one per API group (eg. `greetings`) or one per endpoint (eg. `greetings.getGreeting`). Each attempt takes
+// a permit, the retries and the hedges included. Without a permit, a call waits up to maxWait for its turn,
+// or fails fast with a RateLimitExceededException when the wait would be longer.
+public final class RateLimitPolicy {
+    public static final Duration DEFAULT_MAX_WAIT = Duration.ofSeconds(1);
+
+    public enum Scope {
+        GLOBAL,
+        GROUP,
+        ENDPOINT
+    }
+
+    private final double permitsPerSecond;
+    private final int burst;
+    private final Scope scope;
+    private final Duration maxWait;
+
+    private RateLimitPolicy(Builder builder) {
+        this.permitsPerSecond = builder.permitsPerSecond;
+        this.burst = builder.burst;
+        this.scope = builder.scope;
+        this.maxWait = builder.maxWait;
+    }
+
+    public static Builder newBuilder(double permitsPerSecond) {
+        return new Builder(permitsPerSecond);
+    }
+
+    public double permitsPerSecond() {
+        return permitsPerSecond;
+    }
+
+    public int burst() {
+        return burst;
+    }
+
+    public Scope scope() {
+        return scope;
+    }
+
+    public Duration maxWait() {
+        return maxWait;
+    }
+
+    public static class Builder {
+        private final double permitsPerSecond;
+        private int burst = 1;
+        private Scope scope = Scope.GLOBAL;
+        private Duration maxWait = DEFAULT_MAX_WAIT;
+
+        private Builder(double permitsPerSecond) {
+            if (permitsPerSecond <= 0) {
+                throw new IllegalArgumentException("permitsPerSecond must be positive");
+            }
+            this.permitsPerSecond = permitsPerSecond;
+        }
+
+        // the permits available at once after an idle period, 1 by default.
+        public Builder burst(int burst) {
+            if (burst < 1) {
+                throw new IllegalArgumentException("burst must be greater than 0");
+            }
+            this.burst = burst;
+            return this;
+        }
+
+        public Builder scope(Scope scope) {
+            this.scope = scope;
+            return this;
+        }
+
+        // the longest wait for a permit, the calling thread or the OkHttp dispatcher thread is blocked meanwhile.
+        public Builder maxWait(Duration maxWait) {
+            if (maxWait.isNegative()) {
+                throw new IllegalArgumentException("maxWait cannot be negative");
+            }
+            this.maxWait = maxWait;
+            return this;
+        }
+
+        // fail the calls without a permit at once, same as maxWait(Duration.ZERO).
+        public Builder failFast() {
+            return maxWait(Duration.ZERO);
+        }
+
+        public RateLimitPolicy build() {
+            return new RateLimitPolicy(this);
+        }
+    }
+}
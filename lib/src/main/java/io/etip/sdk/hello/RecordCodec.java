@@ -0,0 +1,23 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+
+import java.io.IOException;
+
+// A streaming reader and writer of one record type, implemented by the code generated for @GenerateCodec records,
+// the generated codecs are registered as services of this interface.
+public interface RecordCodec<T> {
+
+    Class<T> type();
+
+    // the parser is positioned on the first token of the value.
+    T read(JsonParser parser) throws IOException;
+
+    // the generated codecs deduplicate the configured String fields, see StringDeduplication.
+    default T read(JsonParser parser, StringDeduplication deduplication) throws IOException {
+        return read(parser);
+    }
+
+    void write(JsonGenerator generator, T value) throws IOException;
+}
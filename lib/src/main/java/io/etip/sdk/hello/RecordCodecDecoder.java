@@ -0,0 +1,181 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+// Decodes the @GenerateCodec records with their generated codecs, other types are passed to the fallback decoder.
+public class RecordCodecDecoder implements JsonDecoder {
+    private final JsonFactory jsonFactory;
+    private final JsonDecoder fallback;
+    private final StringDeduplication deduplication;
+
+    public RecordCodecDecoder(JsonFactory jsonFactory, JsonDecoder fallback) {
+        this(jsonFactory, fallback, StringDeduplication.NONE);
+    }
+
+    public RecordCodecDecoder(JsonFactory jsonFactory, JsonDecoder fallback, StringDeduplication deduplication) {
+        this.jsonFactory = jsonFactory;
+        this.fallback = fallback;
+        this.deduplication = deduplication;
+    }
+
+    @Override
+    public <T> T decode(String json, Class<T> clazz) {
+        var codec = RecordCodecs.find(clazz);
+        if (codec == null) {
+            return fallback.decode(json, clazz);
+        }
+        try (var parser = jsonFactory.createParser(json)) {
+            return read(codec, parser);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream json, Class<T> clazz) {
+        var codec = RecordCodecs.find(clazz);
+        if (codec == null) {
+            return fallback.decode(json, clazz);
+        }
+        try (var parser = jsonFactory.createParser(json)) {
+            return read(codec, parser);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T decode(byte[] json, Class<T> clazz) {
+        var codec = RecordCodecs.find(clazz);
+        if (codec == null) {
+            return fallback.decode(json, clazz);
+        }
+        try (var parser = jsonFactory.createParser(json)) {
+            return read(codec, parser);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + clazz.getName(), e);
+        }
+    }
+
+    // the generated codecs also decode the Lists of @GenerateCodec records.
+    @Override
+    public <T> T decode(String json, TypeToken<T> type) {
+        var reader = reader(type.type());
+        if (reader == null) {
+            return fallback.decode(json, type);
+        }
+        try (var parser = jsonFactory.createParser(json)) {
+            return read(reader, parser);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + type, e);
+        }
+    }
+
+    @Override
+    public <T> T decode(InputStream json, TypeToken<T> type) {
+        var reader = reader(type.type());
+        if (reader == null) {
+            return fallback.decode(json, type);
+        }
+        try (var parser = jsonFactory.createParser(json)) {
+            return read(reader, parser);
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode " + type, e);
+        }
+    }
+
+    @Override
+    public <T> Stream<T> decodeArray(InputStream json, Class<T> elementType) {
+        var codec = RecordCodecs.find(elementType);
+        if (codec == null) {
+            return fallback.decodeArray(json, elementType);
+        }
+        JsonParser parser;
+        try {
+            parser = jsonFactory.createParser(json);
+            var token = parser.nextToken();
+            if (token == JsonToken.VALUE_NULL) {
+                parser.close();
+                return Stream.empty();
+            }
+            if (token != JsonToken.START_ARRAY) {
+                parser.close();
+                throw new HelloException("Failed to decode an array of " + elementType.getName() + ", got " + token);
+            }
+        } catch (IOException e) {
+            throw new HelloException("Failed to decode an array of " + elementType.getName(), e);
+        }
+        return StreamSupport.stream(new ArraySpliterator<>(codec, parser, deduplication), false)
+                .onClose(() -> {
+                    try {
+                        parser.close();
+                    } catch (IOException e) {
+                        throw new HelloException(e);
+                    }
+                });
+    }
+
+    // reads one element per advance, the parser is positioned after the START_ARRAY token.
+    private static final class ArraySpliterator<T> extends Spliterators.AbstractSpliterator<T> {
+        private final RecordCodec<T> codec;
+        private final JsonParser parser;
+        private final StringDeduplication deduplication;
+
+        ArraySpliterator(RecordCodec<T> codec, JsonParser parser, StringDeduplication deduplication) {
+            super(Long.MAX_VALUE, Spliterator.ORDERED);
+            this.codec = codec;
+            this.parser = parser;
+            this.deduplication = deduplication;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super T> action) {
+            try {
+                var token = parser.nextToken();
+                if (token == JsonToken.END_ARRAY || token == null) {
+                    return false;
+                }
+                action.accept(codec.read(parser, deduplication));
+                return true;
+            } catch (IOException e) {
+                throw new HelloException("Failed to decode " + codec.type().getName(), e);
+            }
+        }
+    }
+
+    private RecordCodecs.Reader<?> reader(Type type) {
+        if (type instanceof Class<?> clazz) {
+            var codec = RecordCodecs.find(clazz);
+            return codec == null ? null : parser -> codec.read(parser, deduplication);
+        }
+        if (type instanceof ParameterizedType parameterized && parameterized.getRawType() == List.class) {
+            var elementReader = reader(parameterized.getActualTypeArguments()[0]);
+            return elementReader == null ? null : parser -> RecordCodecs.readList(parser, elementReader);
+        }
+        return null;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T read(RecordCodecs.Reader<?> reader, JsonParser parser) throws IOException {
+        parser.nextToken();
+        return (T) reader.read(parser);
+    }
+
+    private <T> T read(RecordCodec<T> codec, JsonParser parser) throws IOException {
+        parser.nextToken();
+        return codec.read(parser, deduplication);
+    }
+}
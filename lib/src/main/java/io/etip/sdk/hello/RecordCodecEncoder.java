@@ -0,0 +1,55 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.StringWriter;
+
+// Encodes the @GenerateCodec records with their generated codecs, other values are passed to the fallback encoder.
+// The JsonFactory should disable JsonGenerator.Feature.AUTO_CLOSE_TARGET, the streams belong to the caller.
+public class RecordCodecEncoder implements JsonEncoder {
+    private final JsonFactory jsonFactory;
+    private final JsonEncoder fallback;
+
+    public RecordCodecEncoder(JsonFactory jsonFactory, JsonEncoder fallback) {
+        this.jsonFactory = jsonFactory;
+        this.fallback = fallback;
+    }
+
+    @Override
+    public String encode(Object obj) {
+        var codec = obj == null ? null : RecordCodecs.find(obj.getClass());
+        if (codec == null) {
+            return fallback.encode(obj);
+        }
+        var json = new StringWriter();
+        try (var generator = jsonFactory.createGenerator(json)) {
+            write(codec, generator, obj);
+        } catch (IOException e) {
+            throw new HelloException("Failed to encode " + obj.getClass().getName(), e);
+        }
+        return json.toString();
+    }
+
+    @Override
+    public void encode(Object obj, OutputStream out) throws IOException {
+        var codec = obj == null ? null : RecordCodecs.find(obj.getClass());
+        if (codec == null) {
+            fallback.encode(obj, out);
+            return;
+        }
+        try (var generator = jsonFactory.createGenerator(out)) {
+            write(codec, generator, obj);
+        } catch (JsonProcessingException e) {
+            throw new HelloException("Failed to encode " + obj.getClass().getName(), e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> void write(RecordCodec<T> codec, JsonGenerator generator, Object obj) throws IOException {
+        codec.write(generator, (T) obj);
+    }
+}
@@ -0,0 +1,281 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.ServiceLoader;
+import java.util.function.Function;
+
+// The registry of the generated RecordCodecs and the value readers and writers the generated code calls.
+// The formats match the default ObjectMapper, dates are ISO-8601 strings.
+public final class RecordCodecs {
+
+    private static final ClassValue<RecordCodec<?>> CODECS = new ClassValue<>() {
+        @Override
+        protected RecordCodec<?> computeValue(Class<?> type) {
+            return Registry.CODECS.get(type);
+        }
+    };
+
+    private RecordCodecs() {
+    }
+
+    // the generated codec of the type, null if the type is not annotated with @GenerateCodec.
+    @SuppressWarnings("unchecked")
+    public static <T> RecordCodec<T> find(Class<T> type) {
+        return (RecordCodec<T>) CODECS.get(type);
+    }
+
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read(JsonParser parser) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface Writer<T> {
+        void write(JsonGenerator generator, T value) throws IOException;
+    }
+
+    public static boolean startObject(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return false;
+        }
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw new JsonParseException(parser, "Expected an object, got " + parser.currentToken());
+        }
+        return true;
+    }
+
+    // a number or a boolean is read as its text, as the default ObjectMapper does.
+    public static String readString(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : scalar(parser, "a string").getValueAsString();
+    }
+
+    // the deduplicator of the field, null if the field is not deduplicated.
+    public static String readString(JsonParser parser, StringDeduplicator deduplicator) throws IOException {
+        if (deduplicator == null || parser.currentToken() != JsonToken.VALUE_STRING) {
+            var value = readString(parser);
+            return value == null || deduplicator == null ? value : deduplicator.deduplicate(value);
+        }
+        return deduplicator.deduplicate(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+    }
+
+    public static int readInt(JsonParser parser) throws IOException {
+        return scalar(parser, "a number").getValueAsInt();
+    }
+
+    public static long readLong(JsonParser parser) throws IOException {
+        return scalar(parser, "a number").getValueAsLong();
+    }
+
+    public static double readDouble(JsonParser parser) throws IOException {
+        return scalar(parser, "a number").getValueAsDouble();
+    }
+
+    public static boolean readBoolean(JsonParser parser) throws IOException {
+        return scalar(parser, "a boolean").getValueAsBoolean();
+    }
+
+    public static Integer readIntegerOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : scalar(parser, "a number").getValueAsInt();
+    }
+
+    public static Long readLongOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : scalar(parser, "a number").getValueAsLong();
+    }
+
+    public static Double readDoubleOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : scalar(parser, "a number").getValueAsDouble();
+    }
+
+    public static Boolean readBooleanOrNull(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : scalar(parser, "a boolean").getValueAsBoolean();
+    }
+
+    public static LocalDate readLocalDate(JsonParser parser) throws IOException {
+        return parser.currentToken() == JsonToken.VALUE_NULL ? null : parseDateTime(parser, LocalDate::parse);
+    }
+
+    // the canonical ISO-8601 forms are parsed straight from the parser buffer, see IsoDateTimes.
+    public static LocalDateTime readLocalDateTime(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            var value = IsoDateTimes.parseLocalDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        }
+        return parseDateTime(parser, LocalDateTime::parse);
+    }
+
+    public static OffsetDateTime readOffsetDateTime(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            var value = IsoDateTimes.parseOffsetDateTime(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        }
+        return parseDateTime(parser, OffsetDateTime::parse);
+    }
+
+    public static Instant readInstant(JsonParser parser) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            var value = IsoDateTimes.parseInstant(parser.getTextCharacters(), parser.getTextOffset(), parser.getTextLength());
+            if (value != null) {
+                return value;
+            }
+        }
+        return parseDateTime(parser, Instant::parse);
+    }
+
+    // an object or an array fails the decoding, the getValueAs methods would leave the parser inside of it.
+    private static JsonParser scalar(JsonParser parser, String expected) throws IOException {
+        if (!parser.currentToken().isScalarValue()) {
+            throw new JsonParseException(parser, "Expected " + expected + ", got " + parser.currentToken());
+        }
+        return parser;
+    }
+
+    // the non canonical forms, the malformed values fail with the parser location, as the databind path does.
+    private static <T> T parseDateTime(JsonParser parser, Function<String, T> parse) throws IOException {
+        if (parser.currentToken() != JsonToken.VALUE_STRING) {
+            throw new JsonParseException(parser, "Expected an ISO-8601 string, got " + parser.currentToken());
+        }
+        try {
+            return parse.apply(parser.getText());
+        } catch (DateTimeParseException e) {
+            throw new JsonParseException(parser, "Invalid ISO-8601 value \"" + parser.getText() + "\"", e);
+        }
+    }
+
+    public static <E> List<E> readList(JsonParser parser, Reader<E> elementReader) throws IOException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected an array, got " + parser.currentToken());
+        }
+        var list = new ArrayList<E>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(elementReader.read(parser));
+        }
+        return list;
+    }
+
+    public static void writeString(JsonGenerator generator, String value) throws IOException {
+        generator.writeString(value);
+    }
+
+    public static void writeNumber(JsonGenerator generator, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof Integer i) {
+            generator.writeNumber(i);
+        } else if (value instanceof Long l) {
+            generator.writeNumber(l);
+        } else {
+            generator.writeNumber(value.doubleValue());
+        }
+    }
+
+    public static void writeBoolean(JsonGenerator generator, Boolean value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else {
+            generator.writeBoolean(value);
+        }
+    }
+
+    public static void writeLocalDate(JsonGenerator generator, LocalDate value) throws IOException {
+        generator.writeString(value == null ? null : DateTimeFormatter.ISO_LOCAL_DATE.format(value));
+    }
+
+    public static void writeLocalDateTime(JsonGenerator generator, LocalDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        int length = IsoDateTimes.formatLocalDateTime(value, chars, 0);
+        if (length < 0) {
+            generator.writeString(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value));
+        } else {
+            generator.writeString(chars, 0, length);
+        }
+    }
+
+    public static void writeOffsetDateTime(JsonGenerator generator, OffsetDateTime value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        int length = IsoDateTimes.formatOffsetDateTime(value, chars, 0);
+        if (length < 0) {
+            generator.writeString(DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(value));
+        } else {
+            generator.writeString(chars, 0, length);
+        }
+    }
+
+    public static void writeInstant(JsonGenerator generator, Instant value) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        int length = IsoDateTimes.formatInstant(value, chars, 0);
+        if (length < 0) {
+            generator.writeString(DateTimeFormatter.ISO_INSTANT.format(value));
+        } else {
+            generator.writeString(chars, 0, length);
+        }
+    }
+
+    public static <E> void writeList(JsonGenerator generator, List<E> list, Writer<E> elementWriter) throws IOException {
+        if (list == null) {
+            generator.writeNull();
+            return;
+        }
+        generator.writeStartArray();
+        for (var element : list) {
+            elementWriter.write(generator, element);
+        }
+        generator.writeEndArray();
+    }
+
+    // the generated codecs on the classpath, loaded on first use.
+    private static final class Registry {
+        private static final Map<Class<?>, RecordCodec<?>> CODECS = new HashMap<>();
+
+        static {
+            @SuppressWarnings("unchecked")
+            var service = (Class<RecordCodec<?>>) (Class<?>) RecordCodec.class;
+            ServiceLoader<RecordCodec<?>> codecs = ServiceLoader.load(service, RecordCodec.class.getClassLoader());
+            for (RecordCodec<?> codec : codecs) {
+                CODECS.put(codec.type(), codec);
+            }
+        }
+    }
+}
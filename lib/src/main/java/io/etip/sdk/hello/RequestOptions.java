@@ -0,0 +1,129 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Headers;
+import okhttp3.Request;
+
+import java.time.Duration;
+
+// The options of a single API call, eg. `greetings.getGreeting(request, RequestOptions.newBuilder().timeout(...).build())`,
+// so a latency-sensitive path gets its own budget without a separate OkHttpClient and connection pool.
+// The timeout is turned into a Deadline when the call starts, it covers the whole call, retries and decoding included.
+public final class RequestOptions {
+    public static final RequestOptions DEFAULT = newBuilder().build();
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
+    // how a call uses the response cache of the client, see HelloClient.Builder.cache(...).
+    public enum CachePolicy {
+        // serve the cached response, cache the loaded one.
+        USE,
+        // skip the cached response, cache the loaded one.
+        REFRESH,
+        // neither read nor write the cache.
+        BYPASS
+    }
+
+    private final Duration timeout;
+    private final Deadline deadline;
+    private final Headers headers;
+    private final String idempotencyKey;
+    private final CachePolicy cachePolicy;
+
+    private RequestOptions(Builder builder) {
+        this.timeout = builder.timeout;
+        this.deadline = builder.deadline;
+        this.headers = builder.headers.build();
+        this.idempotencyKey = builder.idempotencyKey;
+        this.cachePolicy = builder.cachePolicy;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public Duration timeout() {
+        return timeout;
+    }
+
+    public Headers headers() {
+        return headers;
+    }
+
+    public String idempotencyKey() {
+        return idempotencyKey;
+    }
+
+    public CachePolicy cachePolicy() {
+        return cachePolicy;
+    }
+
+    // the deadline of a call starting now, the earliest of the timeout and the explicit deadline, null if none.
+    public Deadline deadline() {
+        if (timeout == null) {
+            return deadline;
+        }
+        var afterTimeout = Deadline.after(timeout);
+        return deadline == null || afterTimeout.nanoTime() - deadline.nanoTime() < 0 ? afterTimeout : deadline;
+    }
+
+    // true when the call is the same HTTP request as with the default options, so it can share a coalesced call.
+    public boolean hasDefaultRequest() {
+        return headers.size() == 0 && idempotencyKey == null;
+    }
+
+    // adds the headers and the idempotency key, and tags the request with the deadline of a call starting now.
+    public Request.Builder applyTo(Request.Builder request) {
+        for (int i = 0; i < headers.size(); i++) {
+            request.addHeader(headers.name(i), headers.value(i));
+        }
+        if (idempotencyKey != null) {
+            request.header(IDEMPOTENCY_KEY_HEADER, idempotencyKey);
+        }
+        var callDeadline = deadline();
+        if (callDeadline != null) {
+            request.tag(Deadline.class, callDeadline);
+        }
+        return request;
+    }
+
+    public static class Builder {
+        private Duration timeout;
+        private Deadline deadline;
+        private final Headers.Builder headers = new Headers.Builder();
+        private String idempotencyKey;
+        private CachePolicy cachePolicy = CachePolicy.USE;
+
+        public Builder timeout(Duration timeout) {
+            if (timeout.isNegative() || timeout.isZero()) {
+                throw new IllegalArgumentException("timeout must be positive");
+            }
+            this.timeout = timeout;
+            return this;
+        }
+
+        // an absolute deadline, eg. the one of the incoming request being served.
+        public Builder deadline(Deadline deadline) {
+            this.deadline = deadline;
+            return this;
+        }
+
+        public Builder header(String name, String value) {
+            this.headers.add(name, value);
+            return this;
+        }
+
+        // sent as the Idempotency-Key header, the call is then retried even with a non-idempotent method.
+        public Builder idempotencyKey(String idempotencyKey) {
+            this.idempotencyKey = idempotencyKey;
+            return this;
+        }
+
+        public Builder cachePolicy(CachePolicy cachePolicy) {
+            this.cachePolicy = cachePolicy;
+            return this;
+        }
+
+        public RequestOptions build() {
+            return new RequestOptions(this);
+        }
+    }
+}
@@ -0,0 +1,172 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+// Retries the idempotent requests as configured by the RetryPolicy, the last response or failure is returned
+// to the caller as is once the attempts, the budget or the time left before the Deadline of the request are exhausted.
+// A request with an Idempotency-Key header is retried whatever its method.
+// The delays block the calling thread, the OkHttp dispatcher thread for the async calls.
+final class RetryInterceptor implements Interceptor {
+    private static final Set<String> IDEMPOTENT_METHODS = Set.of("GET", "HEAD", "OPTIONS", "PUT", "DELETE");
+    // the budget tokens are counted in thousandths.
+    private static final long TOKEN = 1000;
+
+    private final RetryPolicy policy;
+    private final HelloMetrics metrics;
+    private final AtomicLong budget;
+    private final long budgetThreshold;
+    private final long budgetRefill;
+    private final LongAdder budgetExhausted;
+    // the retries counter of each endpoint, resolved on its first retry.
+    private final ConcurrentMap<String, LongAdder> retries = new ConcurrentHashMap<>();
+
+    RetryInterceptor(RetryPolicy policy, HelloMetrics metrics) {
+        this.policy = policy;
+        this.metrics = metrics;
+        this.budget = new AtomicLong(policy.budgetTokens() * TOKEN);
+        this.budgetThreshold = policy.budgetTokens() * TOKEN / 2;
+        this.budgetRefill = Math.max(1, Math.round(policy.budgetTokenRatio() * TOKEN));
+        this.budgetExhausted = metrics.counter("retry.budget.exhausted");
+        metrics.gauge("retry.budget.tokens", () -> budget.get() / TOKEN);
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request();
+        if (!isIdempotent(request)) {
+            return chain.proceed(request);
+        }
+
+        long previousDelay = policy.baseDelay().toMillis();
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                // rejected by the SDK, eg. an open circuit, without calling the backend.
+                if (e.getCause() instanceof HelloException) {
+                    throw e;
+                }
+                failure = e;
+            }
+
+            if (failure == null && !isRetryable(response)) {
+                refill();
+                return response;
+            }
+            if (attempt >= policy.maxAttempts() || chain.call().isCanceled()) {
+                return giveUp(response, failure);
+            }
+            long delay = response != null ? retryAfter(response) : -1;
+            if (delay > policy.maxDelay().toMillis()) {
+                return giveUp(response, failure);
+            }
+            if (delay < 0) {
+                // decorrelated jitter, between the base delay and 3 times the previous delay.
+                long base = policy.baseDelay().toMillis();
+                delay = Math.min(policy.maxDelay().toMillis(),
+                        ThreadLocalRandom.current().nextLong(base, Math.max(base, previousDelay * 3) + 1));
+                previousDelay = delay;
+            }
+            // no retry which could not complete before the deadline.
+            if (Deadline.bound(request, Long.MAX_VALUE) <= TimeUnit.MILLISECONDS.toNanos(delay)) {
+                return giveUp(response, failure);
+            }
+            // the token is taken last, only the attempts which are actually retried draw on the budget.
+            if (!takeToken()) {
+                return giveUp(response, failure);
+            }
+            if (response != null) {
+                response.close();
+            }
+            sleep(delay);
+            retries.computeIfAbsent(endpointName(request), name -> metrics.counter(name + ".retries")).increment();
+        }
+    }
+
+    // the last response, or the failure of the last attempt.
+    private static Response giveUp(Response response, IOException failure) throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        return response;
+    }
+
+    private static boolean isIdempotent(Request request) {
+        return IDEMPOTENT_METHODS.contains(request.method()) || request.header(RequestOptions.IDEMPOTENCY_KEY_HEADER) != null;
+    }
+
+    private static boolean isRetryable(Response response) {
+        return response.code() == 429 || response.code() >= 500;
+    }
+
+    // a retried attempt takes a token, the retry is allowed while the bucket stays over the threshold.
+    private boolean takeToken() {
+        while (true) {
+            long tokens = budget.get();
+            long next = Math.max(0, tokens - TOKEN);
+            if (budget.compareAndSet(tokens, next)) {
+                if (next > budgetThreshold) {
+                    return true;
+                }
+                budgetExhausted.increment();
+                return false;
+            }
+        }
+    }
+
+    private void refill() {
+        long max = policy.budgetTokens() * TOKEN;
+        budget.accumulateAndGet(budgetRefill, (tokens, refill) -> Math.min(max, tokens + refill));
+    }
+
+    // the Retry-After delay in millis, as seconds or as an HTTP date, -1 if absent or invalid.
+    static long retryAfter(Response response) {
+        var retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return Math.max(0, Long.parseLong(retryAfter.trim()) * 1000);
+        } catch (NumberFormatException e) {
+            // not in seconds, an HTTP date then.
+        }
+        try {
+            var date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+            return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toMillis());
+        } catch (DateTimeParseException e) {
+            return -1;
+        }
+    }
+
+    private static String endpointName(Request request) {
+        var endpoint = request.tag(Endpoint.class);
+        return endpoint != null ? endpoint.name() : "http";
+    }
+
+    private static void sleep(long millis) throws InterruptedIOException {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package io.etip.sdk.hello;
+
+import java.time.Duration;
+
+// The retries of the idempotent calls, see HelloClient.Builder.retryPolicy(...).
+// Connection failures, 429 and 5xx responses are retried after a decorrelated jitter delay, or after the
+// Retry-After delay of the response. The retry budget is a token bucket shared by all the calls of a client,
+// each failed attempt takes a token, each successful one gives back tokenRatio of a token, and the calls are
+// only retried while the bucket is more than half full, so the retries cannot turn an outage into a retry storm.
+public final class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+    public static final int DEFAULT_BUDGET_TOKENS = 100;
+    public static final double DEFAULT_BUDGET_TOKEN_RATIO = 0.1;
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final int budgetTokens;
+    private final double budgetTokenRatio;
+
+    private RetryPolicy(Builder builder) {
+        this.maxAttempts = builder.maxAttempts;
+        this.baseDelay = builder.baseDelay;
+        this.maxDelay = builder.maxDelay;
+        this.budgetTokens = builder.budgetTokens;
+        this.budgetTokenRatio = builder.budgetTokenRatio;
+    }
+
+    public static RetryPolicy defaults() {
+        return newBuilder().build();
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    public int maxAttempts() {
+        return maxAttempts;
+    }
+
+    public Duration baseDelay() {
+        return baseDelay;
+    }
+
+    public Duration maxDelay() {
+        return maxDelay;
+    }
+
+    public int budgetTokens() {
+        return budgetTokens;
+    }
+
+    public double budgetTokenRatio() {
+        return budgetTokenRatio;
+    }
+
+    public static class Builder {
+        private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+        private Duration baseDelay = DEFAULT_BASE_DELAY;
+        private Duration maxDelay = DEFAULT_MAX_DELAY;
+        private int budgetTokens = DEFAULT_BUDGET_TOKENS;
+        private double budgetTokenRatio = DEFAULT_BUDGET_TOKEN_RATIO;
+
+        // the first call included, 1 disables the retries.
+        public Builder maxAttempts(int maxAttempts) {
+            if (maxAttempts < 1) {
+                throw new IllegalArgumentException("maxAttempts must be greater than 0");
+            }
+            this.maxAttempts = maxAttempts;
+            return this;
+        }
+
+        // the jitter delays are drawn between baseDelay and 3 times the previous delay, capped by maxDelay.
+        public Builder baseDelay(Duration baseDelay) {
+            this.baseDelay = baseDelay;
+            return this;
+        }
+
+        // also the longest Retry-After honored, a response asking for a longer delay is not retried.
+        public Builder maxDelay(Duration maxDelay) {
+            this.maxDelay = maxDelay;
+            return this;
+        }
+
+        public Builder budget(int tokens, double tokenRatio) {
+            if (tokens < 1 || tokenRatio <= 0) {
+                throw new IllegalArgumentException("the retry budget requires positive tokens and tokenRatio");
+            }
+            this.budgetTokens = tokens;
+            this.budgetTokenRatio = tokenRatio;
+            return this;
+        }
+
+        public RetryPolicy build() {
+            if (baseDelay.compareTo(maxDelay) > 0) {
+                throw new IllegalArgumentException("baseDelay cannot be greater than maxDelay");
+            }
+            return new RetryPolicy(this);
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package io.etip.sdk.hello;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+
+// Adds the Authorization header to every request upfront, instead of waiting for a 401 challenge,
+// so an authenticated call costs a single round trip.
+// The key can be rotated at runtime, in-flight calls keep the key they were sent with.
+public class SecretKeyInterceptor implements Interceptor {
+    private volatile String authorization;
+
+    public SecretKeyInterceptor(String secretKey) {
+        rotate(secretKey);
+    }
+
+    public void rotate(String secretKey) {
+        if (secretKey == null || secretKey.isBlank()) {
+            throw new IllegalArgumentException("secretKey cannot be blank");
+        }
+        this.authorization = secretKey;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        var request = chain.request().newBuilder()
+                .header("Authorization", this.authorization)
+                .build();
+        return chain.proceed(request);
+    }
+}
@@ -0,0 +1,130 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.Module;
+import com.fasterxml.jackson.databind.deser.ContextualDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StdScalarDeserializer;
+import com.fasterxml.jackson.databind.deser.std.StringDeserializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+// The decoded String fields to deduplicate, per field or for all the String fields of a type, eg.
+// StringDeduplication.newBuilder().field(GetGreetingResponse.class, "message").build(),
+// see JsonCodec.defaults(StringDeduplication). The fields share one bounded StringDeduplicator.
+// The type is the record or class declaring the field, the elements of a List<String> field are deduplicated as well.
+public final class StringDeduplication {
+    public static final StringDeduplication NONE = new StringDeduplication(Map.of(), Set.of(), null);
+
+    public static final int DEFAULT_MAX_ENTRIES = 4096;
+    public static final int DEFAULT_MAX_LENGTH = 256;
+
+    private final Map<Class<?>, Set<String>> fields;
+    private final Set<Class<?>> types;
+    private final StringDeduplicator deduplicator;
+
+    private StringDeduplication(Map<Class<?>, Set<String>> fields, Set<Class<?>> types, StringDeduplicator deduplicator) {
+        this.fields = fields;
+        this.types = types;
+        this.deduplicator = deduplicator;
+    }
+
+    public static Builder newBuilder() {
+        return new Builder();
+    }
+
+    // the deduplicator of the field, null if it is not deduplicated.
+    public StringDeduplicator forField(Class<?> type, String field) {
+        if (deduplicator == null) {
+            return null;
+        }
+        if (types.contains(type)) {
+            return deduplicator;
+        }
+        var typeFields = fields.get(type);
+        return typeFields != null && typeFields.contains(field) ? deduplicator : null;
+    }
+
+    // the hits and misses of the shared cache, null for NONE.
+    public StringDeduplicator deduplicator() {
+        return deduplicator;
+    }
+
+    // the String deserializer of the databind codecs, it resolves the deduplicator of each property once.
+    public Module module() {
+        return new SimpleModule("StringDeduplication").addDeserializer(String.class, new DeduplicatingDeserializer(this, null));
+    }
+
+    public static class Builder {
+        private final Map<Class<?>, Set<String>> fields = new HashMap<>();
+        private final Set<Class<?>> types = new HashSet<>();
+        private int maxEntries = DEFAULT_MAX_ENTRIES;
+        private int maxLength = DEFAULT_MAX_LENGTH;
+
+        public Builder field(Class<?> type, String... fields) {
+            this.fields.computeIfAbsent(type, t -> new HashSet<>()).addAll(Set.of(fields));
+            return this;
+        }
+
+        public Builder type(Class<?> type) {
+            this.types.add(type);
+            return this;
+        }
+
+        // the bound of the cache, see StringDeduplicator.
+        public Builder maxEntries(int maxEntries) {
+            this.maxEntries = maxEntries;
+            return this;
+        }
+
+        public Builder maxLength(int maxLength) {
+            this.maxLength = maxLength;
+            return this;
+        }
+
+        public StringDeduplication build() {
+            var copy = new HashMap<Class<?>, Set<String>>();
+            this.fields.forEach((type, names) -> copy.put(type, Set.copyOf(names)));
+            return new StringDeduplication(Map.copyOf(copy), Set.copyOf(this.types),
+                    new StringDeduplicator(this.maxEntries, this.maxLength));
+        }
+    }
+
+    private static final class DeduplicatingDeserializer extends StdScalarDeserializer<String> implements ContextualDeserializer {
+        private final StringDeduplication deduplication;
+        // null until contextualized with a deduplicated property.
+        private final StringDeduplicator deduplicator;
+
+        DeduplicatingDeserializer(StringDeduplication deduplication, StringDeduplicator deduplicator) {
+            super(String.class);
+            this.deduplication = deduplication;
+            this.deduplicator = deduplicator;
+        }
+
+        @Override
+        public JsonDeserializer<?> createContextual(DeserializationContext ctxt, BeanProperty property) {
+            var deduplicator = property == null || property.getMember() == null ? null
+                    : deduplication.forField(property.getMember().getDeclaringClass(), property.getName());
+            return deduplicator == null ? StringDeserializer.instance : new DeduplicatingDeserializer(deduplication, deduplicator);
+        }
+
+        @Override
+        public String deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            if (deduplicator == null) {
+                return StringDeserializer.instance.deserialize(p, ctxt);
+            }
+            if (p.hasToken(JsonToken.VALUE_STRING)) {
+                return deduplicator.deduplicate(p.getTextCharacters(), p.getTextOffset(), p.getTextLength());
+            }
+            return deduplicator.deduplicate(StringDeserializer.instance.deserialize(p, ctxt));
+        }
+    }
+}
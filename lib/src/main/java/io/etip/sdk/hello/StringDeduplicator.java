@@ -0,0 +1,82 @@
+package io.etip.sdk.hello;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// A bounded, lock-free canonicalization cache of decoded strings, identical values share one instance.
+// Direct-mapped, each string hashes to one slot and replaces the previous one on a miss, so the memory is bounded
+// and the lookups never block. Concurrent writes to a slot may race, the loser is only a missed deduplication.
+// A hit on the parser buffer does not create a String at all.
+public final class StringDeduplicator {
+    private final String[] table;
+    private final int mask;
+    private final int maxLength;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    // maxEntries is rounded up to a power of 2, strings longer than maxLength are not deduplicated.
+    public StringDeduplicator(int maxEntries, int maxLength) {
+        if (maxEntries < 1 || maxEntries > 1 << 30) {
+            throw new IllegalArgumentException("maxEntries must be between 1 and 2^30");
+        }
+        int size = maxEntries == 1 ? 1 : Integer.highestOneBit(maxEntries - 1) << 1;
+        this.table = new String[size];
+        this.mask = size - 1;
+        this.maxLength = maxLength;
+    }
+
+    public String deduplicate(char[] chars, int offset, int length) {
+        if (length > maxLength) {
+            return new String(chars, offset, length);
+        }
+        int hash = 0;
+        for (int i = offset; i < offset + length; i++) {
+            hash = 31 * hash + chars[i];
+        }
+        int index = (hash ^ (hash >>> 16)) & mask;
+        var cached = table[index];
+        if (cached != null && cached.hashCode() == hash && contentEquals(cached, chars, offset, length)) {
+            hits.increment();
+            return cached;
+        }
+        var value = new String(chars, offset, length);
+        table[index] = value;
+        misses.increment();
+        return value;
+    }
+
+    public String deduplicate(String value) {
+        if (value == null || value.length() > maxLength) {
+            return value;
+        }
+        int hash = value.hashCode();
+        int index = (hash ^ (hash >>> 16)) & mask;
+        var cached = table[index];
+        if (value.equals(cached)) {
+            hits.increment();
+            return cached;
+        }
+        table[index] = value;
+        misses.increment();
+        return value;
+    }
+
+    public long hits() {
+        return hits.sum();
+    }
+
+    public long misses() {
+        return misses.sum();
+    }
+
+    private static boolean contentEquals(String value, char[] chars, int offset, int length) {
+        if (value.length() != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (value.charAt(i) != chars[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,40 @@
+package io.etip.sdk.hello;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// A lock-free token bucket, as the generic cell rate algorithm: the whole state is the time at which
+// the permits granted so far are paid back, so a permit is a single CAS, and the bucket is exact under contention, no permit is lost
+// or granted twice. A permit is available while that time is less than `burst` intervals ahead of now,
+// and an idle bucket does not accumulate more than `burst` permits as that time never lags behind now.
+final class TokenBucket {
+    private final long intervalNanos;
+    private final long burstNanos;
+    private final AtomicLong arrival;
+
+    TokenBucket(double permitsPerSecond, int burst, long nowNanos) {
+        this.intervalNanos = Math.max(1, Math.round(1_000_000_000 / permitsPerSecond));
+        this.burstNanos = intervalNanos * burst;
+        this.arrival = new AtomicLong(nowNanos);
+    }
+
+    // reserves a permit, returns the nanos to wait for it, or -1 without reserving when the wait exceeds maxWaitNanos.
+    long reserve(long nowNanos, long maxWaitNanos) {
+        while (true) {
+            long current = arrival.get();
+            long next = Math.max(current, nowNanos) + intervalNanos;
+            long wait = next - burstNanos - nowNanos;
+            if (wait > maxWaitNanos) {
+                return -1;
+            }
+            if (arrival.compareAndSet(current, next)) {
+                return Math.max(0, wait);
+            }
+        }
+    }
+
+    // the permits available now, for the gauges.
+    long available(long nowNanos) {
+        long ahead = Math.max(0, arrival.get() - nowNanos);
+        return Math.max(0, (burstNanos - ahead) / intervalNanos);
+    }
+}
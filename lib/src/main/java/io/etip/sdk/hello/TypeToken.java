@@ -0,0 +1,98 @@
+package io.etip.sdk.hello;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.List;
+
+// The full generic type of a decoded value, eg. `new TypeToken<List<GetGreetingResponse>>() {}`,
+// a Class cannot express a parameterized type.
+public abstract class TypeToken<T> {
+    private final Type type;
+
+    protected TypeToken() {
+        if (!(getClass().getGenericSuperclass() instanceof ParameterizedType superclass)) {
+            throw new IllegalArgumentException("TypeToken requires a type argument, eg. new TypeToken<List<String>>() {}");
+        }
+        this.type = superclass.getActualTypeArguments()[0];
+    }
+
+    private TypeToken(Type type) {
+        this.type = type;
+    }
+
+    public static <T> TypeToken<T> of(Class<T> type) {
+        return new Resolved<>(type);
+    }
+
+    public static <E> TypeToken<List<E>> listOf(Class<E> elementType) {
+        return new Resolved<>(new ListType(elementType));
+    }
+
+    public Type type() {
+        return type;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof TypeToken<?> other && type.equals(other.type);
+    }
+
+    @Override
+    public int hashCode() {
+        return type.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return type.getTypeName();
+    }
+
+    private static final class Resolved<T> extends TypeToken<T> {
+        Resolved(Type type) {
+            super(type);
+        }
+    }
+
+    // equal to the List<E> type of the JDK reflection, so both are interchangeable as cache keys.
+    private record ListType(Class<?> elementType) implements ParameterizedType {
+
+        @Override
+        public Type[] getActualTypeArguments() {
+            return new Type[]{elementType};
+        }
+
+        @Override
+        public Type getRawType() {
+            return List.class;
+        }
+
+        @Override
+        public Type getOwnerType() {
+            return null;
+        }
+
+        @Override
+        public String getTypeName() {
+            return List.class.getName() + "<" + elementType.getTypeName() + ">";
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof ParameterizedType other
+                    && other.getRawType() == List.class
+                    && other.getOwnerType() == null
+                    && Arrays.equals(other.getActualTypeArguments(), getActualTypeArguments());
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(getActualTypeArguments()) ^ List.class.hashCode();
+        }
+
+        @Override
+        public String toString() {
+            return getTypeName();
+        }
+    }
+}
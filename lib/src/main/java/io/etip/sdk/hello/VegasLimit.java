@@ -0,0 +1,58 @@
+package io.etip.sdk.hello;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+// The adaptive limit of the ConcurrencyLimitPolicy, as TCP Vegas: the queue the backend builds is estimated as
+// limit * (1 - rttNoLoad / rtt), the limit grows while that queue is short, shrinks when it is long,
+// and is cut by the backoff ratio on a drop. The limit and the lowest RTT are updated with CAS, without a lock.
+final class VegasLimit {
+    // the lowest RTT is reset every so many samples, so it follows a backend that became slower for good.
+    private static final long PROBE_SAMPLES = 1000;
+
+    private final ConcurrencyLimitPolicy policy;
+    // the bits of the double limit.
+    private final AtomicLong limit;
+    private final AtomicLong rttNoLoad = new AtomicLong(Long.MAX_VALUE);
+    private final AtomicLong samples = new AtomicLong();
+
+    VegasLimit(ConcurrencyLimitPolicy policy) {
+        this.policy = policy;
+        this.limit = new AtomicLong(Double.doubleToLongBits(policy.initialLimit()));
+    }
+
+    int limit() {
+        return (int) Double.longBitsToDouble(limit.get());
+    }
+
+    void onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (samples.incrementAndGet() % PROBE_SAMPLES == 0) {
+            rttNoLoad.set(rttNanos);
+        }
+        long noLoad = rttNoLoad.accumulateAndGet(rttNanos, Math::min);
+        while (true) {
+            long bits = limit.get();
+            double current = Double.longBitsToDouble(bits);
+            double next = dropped ? current * policy.backoffRatio() : next(current, rttNanos, noLoad, inFlight);
+            next = Math.max(policy.minLimit(), Math.min(policy.maxLimit(), next));
+            if (next == current || limit.compareAndSet(bits, Double.doubleToLongBits(next))) {
+                return;
+            }
+        }
+    }
+
+    private static double next(double limit, long rtt, long noLoad, int inFlight) {
+        double log = Math.max(1, Math.log10(limit));
+        double queue = Math.ceil(limit * (1 - (double) noLoad / Math.max(1, rtt)));
+        if (queue > 6 * log) {
+            return limit - log;
+        }
+        // a client using less than half of its limit tells nothing about the backend capacity.
+        if (inFlight * 2 < limit) {
+            return limit;
+        }
+        if (queue <= log) {
+            return limit + 6 * log;
+        }
+        return queue < 3 * log ? limit + log : limit;
+    }
+}
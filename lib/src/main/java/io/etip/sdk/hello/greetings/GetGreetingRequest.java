@@ -1,5 +1,8 @@
 package io.etip.sdk.hello.greetings;
 
+import io.etip.sdk.hello.GenerateCodec;
+
+@GenerateCodec
 public record GetGreetingRequest(String name) {
     // add validation to the constructor
     public GetGreetingRequest {
@@ -1,6 +1,9 @@
 package io.etip.sdk.hello.greetings;
 
+import io.etip.sdk.hello.GenerateCodec;
+
 import java.time.LocalDateTime;
 
+@GenerateCodec
 public record GetGreetingResponse(String message, LocalDateTime createdAt) {
 }
@@ -0,0 +1,11 @@
+package io.etip.sdk.hello.greetings;
+
+// Receives the progress of a bulk getGreetings call, it is invoked concurrently from the callback threads.
+@FunctionalInterface
+public interface GetGreetingsProgressListener {
+
+    GetGreetingsProgressListener NONE = (completed, failed, total) -> {
+    };
+
+    void onProgress(int completed, int failed, int total);
+}
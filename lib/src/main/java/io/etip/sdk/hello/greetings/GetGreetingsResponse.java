@@ -0,0 +1,37 @@
+package io.etip.sdk.hello.greetings;
+
+import io.etip.sdk.hello.HelloException;
+
+import java.util.List;
+
+// results of a bulk getGreetings call, in the order of the input requests.
+public record GetGreetingsResponse(List<Result> results) {
+
+    public GetGreetingsResponse {
+        results = List.copyOf(results);
+    }
+
+    public List<Result> failures() {
+        return results.stream().filter(result -> !result.isSuccess()).toList();
+    }
+
+    public boolean hasFailures() {
+        return results.stream().anyMatch(result -> !result.isSuccess());
+    }
+
+    // exactly one of response and failure is set.
+    public record Result(GetGreetingRequest request, GetGreetingResponse response, HelloException failure) {
+
+        public static Result success(GetGreetingRequest request, GetGreetingResponse response) {
+            return new Result(request, response, null);
+        }
+
+        public static Result failure(GetGreetingRequest request, HelloException failure) {
+            return new Result(request, null, failure);
+        }
+
+        public boolean isSuccess() {
+            return failure == null;
+        }
+    }
+}
@@ -6,4 +6,8 @@ public class GreetingFailedException extends HelloException {
     public GreetingFailedException(String message) {
         super(message);
     }
+
+    public GreetingFailedException(String message, Throwable cause) {
+        super(message, cause);
+    }
 }
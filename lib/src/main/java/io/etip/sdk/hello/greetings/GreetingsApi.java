@@ -1,6 +1,26 @@
 package io.etip.sdk.hello.greetings;
 
+import io.etip.sdk.hello.RequestOptions;
+
+import java.util.Collection;
+
 public interface GreetingsApi {
 
-    GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest);
+    default GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest) {
+        return getGreeting(getGreetingRequest, RequestOptions.DEFAULT);
+    }
+
+    // with the deadline, headers and cache policy of this call only.
+    GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest, RequestOptions options);
+
+    // resolves all requests with at most maxConcurrency calls in flight, blocks until every call is completed.
+    // The calls go through the async api: the response cache serves its entries, but the calls are not coalesced,
+    // and the in-flight calls are also capped by the maxRequestsPerHost of the client.
+    GetGreetingsResponse getGreetings(Collection<GetGreetingRequest> getGreetingRequests,
+                                      int maxConcurrency,
+                                      GetGreetingsProgressListener progressListener);
+
+    default GetGreetingsResponse getGreetings(Collection<GetGreetingRequest> getGreetingRequests, int maxConcurrency) {
+        return getGreetings(getGreetingRequests, maxConcurrency, GetGreetingsProgressListener.NONE);
+    }
 }
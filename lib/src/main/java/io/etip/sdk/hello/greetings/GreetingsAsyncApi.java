@@ -0,0 +1,16 @@
+package io.etip.sdk.hello.greetings;
+
+import io.etip.sdk.hello.RequestOptions;
+
+import java.util.concurrent.CompletableFuture;
+
+// Non-blocking variant of GreetingsApi, no caller thread is held during the network round trip.
+public interface GreetingsAsyncApi {
+
+    default CompletableFuture<GetGreetingResponse> getGreetingAsync(GetGreetingRequest getGreetingRequest) {
+        return getGreetingAsync(getGreetingRequest, RequestOptions.DEFAULT);
+    }
+
+    // the response cache of the client is not used by the async calls, the cache policy is ignored.
+    CompletableFuture<GetGreetingResponse> getGreetingAsync(GetGreetingRequest getGreetingRequest, RequestOptions options);
+}
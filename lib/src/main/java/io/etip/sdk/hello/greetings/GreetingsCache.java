@@ -0,0 +1,14 @@
+package io.etip.sdk.hello.greetings;
+
+// The response cache of the greetings APIs, enabled via `HelloClient.Builder.cache(...)`.
+public interface GreetingsCache {
+
+    void invalidate(GetGreetingRequest getGreetingRequest);
+
+    void invalidateAll();
+
+    Stats stats();
+
+    record Stats(long hits, long misses, long evictions, long size) {
+    }
+}
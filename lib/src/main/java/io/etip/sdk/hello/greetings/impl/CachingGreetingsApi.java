@@ -0,0 +1,153 @@
+package io.etip.sdk.hello.greetings.impl;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.etip.sdk.hello.HelloMetrics;
+import io.etip.sdk.hello.RequestOptions;
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import io.etip.sdk.hello.greetings.GetGreetingsProgressListener;
+import io.etip.sdk.hello.greetings.GetGreetingsResponse;
+import io.etip.sdk.hello.greetings.GreetingsApi;
+import io.etip.sdk.hello.greetings.GreetingsCache;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+// Caching decorator, bounded by entry count (W-TinyLFU eviction) and expiring entries a fixed time after they were loaded.
+// Misses are loaded outside the cache, so a slow backend never blocks lookups of other keys,
+// and concurrent misses of the same key are coalesced when the decorated api coalesces requests.
+// An invalidation voids the loads in flight for its key, their responses are returned but not cached.
+public class CachingGreetingsApi implements GreetingsApi, GreetingsCache {
+
+    private final GreetingsApi delegate;
+    private final Cache<GetGreetingRequest, GetGreetingResponse> cache;
+    // the token of the latest load of each key, a load only writes back while its token is current.
+    private final ConcurrentMap<GetGreetingRequest, Object> loads = new ConcurrentHashMap<>();
+
+    public CachingGreetingsApi(GreetingsApi delegate, long maxEntries, Duration ttl, HelloMetrics metrics) {
+        if (maxEntries < 1) {
+            throw new IllegalArgumentException("maxEntries must be greater than 0");
+        }
+        if (ttl.isNegative() || ttl.isZero()) {
+            throw new IllegalArgumentException("ttl must be positive");
+        }
+        this.delegate = delegate;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+
+        metrics.gauge("greetings.cache.hits", () -> cache.stats().hitCount());
+        metrics.gauge("greetings.cache.misses", () -> cache.stats().missCount());
+        metrics.gauge("greetings.cache.evictions", () -> cache.stats().evictionCount());
+        metrics.gauge("greetings.cache.size", cache::estimatedSize);
+    }
+
+    @Override
+    public GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest, RequestOptions options) {
+        if (options.cachePolicy() == RequestOptions.CachePolicy.BYPASS) {
+            return delegate.getGreeting(getGreetingRequest, options);
+        }
+        if (options.cachePolicy() == RequestOptions.CachePolicy.USE) {
+            var cached = cache.getIfPresent(getGreetingRequest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        var load = startLoad(getGreetingRequest);
+        try {
+            var response = delegate.getGreeting(getGreetingRequest, options);
+            writeBack(getGreetingRequest, load, response);
+            return response;
+        } finally {
+            loads.remove(getGreetingRequest, load);
+        }
+    }
+
+    // serves the cached entries and only fans out the misses.
+    @Override
+    public GetGreetingsResponse getGreetings(Collection<GetGreetingRequest> getGreetingRequests,
+                                             int maxConcurrency,
+                                             GetGreetingsProgressListener progressListener) {
+        var cached = cache.getAllPresent(getGreetingRequests);
+        if (cached.isEmpty()) {
+            return load(getGreetingRequests, maxConcurrency, progressListener);
+        }
+
+        var misses = getGreetingRequests.stream().filter(request -> !cached.containsKey(request)).toList();
+        var loaded = load(misses, maxConcurrency, progressListener).results().iterator();
+
+        List<GetGreetingsResponse.Result> results = new ArrayList<>(getGreetingRequests.size());
+        for (var request : getGreetingRequests) {
+            var response = cached.get(request);
+            results.add(response != null ? GetGreetingsResponse.Result.success(request, response) : loaded.next());
+        }
+        return new GetGreetingsResponse(results);
+    }
+
+    // serialized with the write-backs of the key, a load that has not written back yet never will.
+    @Override
+    public void invalidate(GetGreetingRequest getGreetingRequest) {
+        loads.compute(getGreetingRequest, (request, load) -> {
+            cache.invalidate(request);
+            return null;
+        });
+    }
+
+    @Override
+    public void invalidateAll() {
+        loads.clear();
+        cache.invalidateAll();
+    }
+
+    @Override
+    public Stats stats() {
+        var stats = cache.stats();
+        return new Stats(stats.hitCount(), stats.missCount(), stats.evictionCount(), cache.estimatedSize());
+    }
+
+    private GetGreetingsResponse load(Collection<GetGreetingRequest> getGreetingRequests,
+                                      int maxConcurrency,
+                                      GetGreetingsProgressListener progressListener) {
+        Map<GetGreetingRequest, Object> started = new HashMap<>();
+        for (var request : getGreetingRequests) {
+            started.computeIfAbsent(request, this::startLoad);
+        }
+        try {
+            var response = delegate.getGreetings(getGreetingRequests, maxConcurrency, progressListener);
+            for (var result : response.results()) {
+                if (result.isSuccess()) {
+                    writeBack(result.request(), started.get(result.request()), result.response());
+                }
+            }
+            return response;
+        } finally {
+            started.forEach(loads::remove);
+        }
+    }
+
+    private Object startLoad(GetGreetingRequest getGreetingRequest) {
+        var load = new Object();
+        loads.put(getGreetingRequest, load);
+        return load;
+    }
+
+    private void writeBack(GetGreetingRequest getGreetingRequest, Object load, GetGreetingResponse response) {
+        loads.computeIfPresent(getGreetingRequest, (request, current) -> {
+            if (current != load) {
+                return current;
+            }
+            cache.put(request, response);
+            return null;
+        });
+    }
+}
@@ -0,0 +1,100 @@
+package io.etip.sdk.hello.greetings.impl;
+
+import io.etip.sdk.hello.Deadline;
+import io.etip.sdk.hello.DeadlineExceededException;
+import io.etip.sdk.hello.HelloMetrics;
+import io.etip.sdk.hello.RequestOptions;
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import io.etip.sdk.hello.greetings.GetGreetingsProgressListener;
+import io.etip.sdk.hello.greetings.GetGreetingsResponse;
+import io.etip.sdk.hello.greetings.GreetingFailedException;
+import io.etip.sdk.hello.greetings.GreetingsApi;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+// Single-flight decorator, concurrent getGreeting calls with an equal request share one HTTP call.
+// The first caller performs the call, the others wait for its outcome, a response or an exception.
+public class CoalescingGreetingsApi implements GreetingsApi {
+    public static final String COALESCED_METRIC = "greetings.getGreeting.coalesced";
+
+    private final GreetingsApi delegate;
+    private final ConcurrentMap<GetGreetingRequest, CompletableFuture<GetGreetingResponse>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced;
+
+    public CoalescingGreetingsApi(GreetingsApi delegate, HelloMetrics metrics) {
+        this.delegate = delegate;
+        this.coalesced = metrics.counter(COALESCED_METRIC);
+    }
+
+    // the calls with their own headers or idempotency key are not coalesced, a coalesced caller waits
+    // for the shared call up to its own deadline.
+    @Override
+    public GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest, RequestOptions options) {
+        if (!options.hasDefaultRequest()) {
+            return delegate.getGreeting(getGreetingRequest, options);
+        }
+        // a call with a deadline joins a shared call, but is never shared, its deadline would fail the other callers.
+        var deadline = options.deadline();
+        if (deadline != null) {
+            var existing = inFlight.get(getGreetingRequest);
+            if (existing == null) {
+                return delegate.getGreeting(getGreetingRequest, options);
+            }
+            coalesced.increment();
+            return await(existing, deadline);
+        }
+        var call = new CompletableFuture<GetGreetingResponse>();
+        var existing = inFlight.putIfAbsent(getGreetingRequest, call);
+        if (existing != null) {
+            coalesced.increment();
+            return await(existing, null);
+        }
+
+        try {
+            var response = delegate.getGreeting(getGreetingRequest, options);
+            call.complete(response);
+            return response;
+        } catch (RuntimeException e) {
+            call.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(getGreetingRequest, call);
+        }
+    }
+
+    @Override
+    public GetGreetingsResponse getGreetings(Collection<GetGreetingRequest> getGreetingRequests,
+                                             int maxConcurrency,
+                                             GetGreetingsProgressListener progressListener) {
+        return delegate.getGreetings(getGreetingRequests, maxConcurrency, progressListener);
+    }
+
+    public long coalescedCalls() {
+        return coalesced.sum();
+    }
+
+    private static GetGreetingResponse await(CompletableFuture<GetGreetingResponse> call, Deadline deadline) {
+        try {
+            return deadline == null ? call.join() : call.get(deadline.remainingNanos(), TimeUnit.NANOSECONDS);
+        } catch (CompletionException | ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new GreetingFailedException(e.getMessage(), e.getCause());
+        } catch (TimeoutException e) {
+            throw new DeadlineExceededException("Deadline exceeded while waiting for the coalesced greeting", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GreetingFailedException("Interrupted while waiting for the coalesced greeting", e);
+        }
+    }
+}
@@ -1,43 +1,178 @@
 package io.etip.sdk.hello.greetings.impl;
 
+import io.etip.sdk.hello.Deadline;
+import io.etip.sdk.hello.DeadlineExceededException;
+import io.etip.sdk.hello.Endpoint;
 import io.etip.sdk.hello.HelloClient;
+import io.etip.sdk.hello.HelloException;
+import io.etip.sdk.hello.RequestOptions;
 import io.etip.sdk.hello.greetings.GetGreetingRequest;
 import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import io.etip.sdk.hello.greetings.GetGreetingsProgressListener;
+import io.etip.sdk.hello.greetings.GetGreetingsResponse;
 import io.etip.sdk.hello.greetings.GreetingFailedException;
 import io.etip.sdk.hello.greetings.GreetingsApi;
+import okhttp3.Call;
 import okhttp3.Request;
 import okhttp3.Response;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
 
 public class GreetingsApiImpl implements GreetingsApi {
     private final HelloClient client;
+    private final Endpoint getGreetingEndpoint;
 
 
     public GreetingsApiImpl(HelloClient client) {
         this.client = client;
+        this.getGreetingEndpoint = getGreetingEndpoint(client);
     }
 
     @Override
-    public GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest) {
-        var requestUrl = this.client.baseUri() + "/greetings?name=" + getGreetingRequest.name();
+    public GetGreetingResponse getGreeting(GetGreetingRequest getGreetingRequest, RequestOptions options) {
+        var request = getGreetingHttpRequest(this.client, this.getGreetingEndpoint, getGreetingRequest, options);
         Response response = null;
         try {
-            response = this.client.httpClient()
-                    .newCall(new Request.Builder().get().url(requestUrl).build())
-                    .execute();
+            response = newCall(this.client, request).execute();
         } catch (IOException e) {
-            throw new GreetingFailedException(e.getMessage());
+            throw callFailed(request, e);
         }
 
-        if (response.code() != 200) {
-            throw new GreetingFailedException("Failed to get greeting: ");
+        return readGetGreetingResponse(this.client, response);
+    }
+
+    @Override
+    public GetGreetingsResponse getGreetings(Collection<GetGreetingRequest> getGreetingRequests,
+                                             int maxConcurrency,
+                                             GetGreetingsProgressListener progressListener) {
+        if (maxConcurrency < 1) {
+            throw new IllegalArgumentException("maxConcurrency must be greater than 0");
         }
 
+        // the calls are enqueued, so the fan-out holds permits rather than threads,
+        // the in-flight calls reuse the pooled connections of the shared OkHttpClient.
+        // They are sent by the async api, so they are not coalesced, and the OkHttp dispatcher
+        // still caps them at maxRequestsPerHost whatever the maxConcurrency.
+        var asyncApi = this.client.greetingsAsync();
+        var total = getGreetingRequests.size();
+        var results = new GetGreetingsResponse.Result[total];
+        var permits = new Semaphore(maxConcurrency);
+        var completed = new AtomicInteger();
+        var failed = new AtomicInteger();
+
         try {
-            return this.client.codecs().decoder().decode(response.body().string(), GetGreetingResponse.class);
-        } catch (IOException e) {
-            throw new GreetingFailedException(e.getMessage());
+            int index = 0;
+            for (var request : getGreetingRequests) {
+                permits.acquire();
+                int i = index++;
+                CompletableFuture<GetGreetingResponse> call;
+                try {
+                    call = asyncApi.getGreetingAsync(request);
+                } catch (RuntimeException e) {
+                    // a call that could not be sent still gives its permit back.
+                    call = CompletableFuture.failedFuture(e);
+                }
+                call.whenComplete((response, error) -> {
+                    try {
+                        if (error == null) {
+                            results[i] = GetGreetingsResponse.Result.success(request, response);
+                        } else {
+                            results[i] = GetGreetingsResponse.Result.failure(request, toHelloException(error));
+                            failed.incrementAndGet();
+                        }
+                        progressListener.onProgress(completed.incrementAndGet(), failed.get(), total);
+                    } finally {
+                        permits.release();
+                    }
+                });
+            }
+
+            // wait for the tail of the in-flight calls.
+            permits.acquire(maxConcurrency);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new GreetingFailedException("Interrupted while getting greetings", e);
+        }
+
+        return new GetGreetingsResponse(Arrays.asList(results));
+    }
+
+    private static HelloException toHelloException(Throwable error) {
+        var cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof HelloException helloException) {
+            return helloException;
+        }
+        return new GreetingFailedException(cause.getMessage(), cause);
+    }
+
+    // the calls rejected by the SDK interceptors, eg. CircuitOpenException, fail with their own HelloException.
+    static HelloException callFailed(Request request, IOException e) {
+        if (e.getCause() instanceof HelloException helloException) {
+            return helloException;
+        }
+        var deadline = Deadline.of(request);
+        if (deadline != null && deadline.isExpired()) {
+            return new DeadlineExceededException("Deadline exceeded while getting greeting", e);
+        }
+        return new GreetingFailedException(e.getMessage(), e);
+    }
+
+    // the OkHttp call timeout enforces the deadline of the request, the reading of the body included.
+    static Call newCall(HelloClient client, Request request) {
+        var call = client.callFactory().newCall(request);
+        var deadline = Deadline.of(request);
+        if (deadline != null) {
+            call.timeout().deadlineNanoTime(deadline.nanoTime());
+        }
+        return call;
+    }
+
+    // shared by the blocking and the async implementations.
+    static Endpoint getGreetingEndpoint(HelloClient client) {
+        return Endpoint.of(client.baseUrl(), "greetings.getGreeting", "GET", "/greetings", "name");
+    }
+
+    static Request getGreetingHttpRequest(HelloClient client, Endpoint endpoint, GetGreetingRequest getGreetingRequest,
+                                          RequestOptions options) {
+        var request = options.applyTo(endpoint.newRequest(getGreetingRequest.name()));
+        // advertise the binary formats of the codecs, if any.
+        var accept = client.codecs().accept();
+        if (accept != null) {
+            request.header("Accept", accept);
+        }
+        return request.build();
+    }
+
+    static GetGreetingResponse readGetGreetingResponse(HelloClient client, Response response) {
+        try (response) {
+            if (response.code() != 200) {
+                throw new GreetingFailedException("Failed to get greeting: " + response.code());
+            }
+            // no decoding past the deadline, the caller gave up on the response.
+            var deadline = Deadline.of(response.request());
+            if (deadline != null && deadline.isExpired()) {
+                throw new DeadlineExceededException("Deadline exceeded before decoding the greeting");
+            }
+
+            // decode straight from the body source, no intermediate String copy of the payload,
+            // with the decoder of the format the backend picked.
+            var body = response.body();
+            try {
+                return client.codecs().decoder(body.contentType()).decode(body.source(), GetGreetingResponse.class);
+            } catch (HelloException | UncheckedIOException e) {
+                // the decoders wrap the read failures of the body as well, eg. a reset or the call timeout.
+                if (deadline != null && deadline.isExpired()) {
+                    throw new DeadlineExceededException("Deadline exceeded while reading the greeting", e);
+                }
+                throw new GreetingFailedException("Failed to read greeting: " + e.getMessage(), e);
+            }
         }
     }
 }
@@ -0,0 +1,66 @@
+package io.etip.sdk.hello.greetings.impl;
+
+import io.etip.sdk.hello.Endpoint;
+import io.etip.sdk.hello.HelloClient;
+import io.etip.sdk.hello.RequestOptions;
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import io.etip.sdk.hello.greetings.GreetingFailedException;
+import io.etip.sdk.hello.greetings.GreetingsAsyncApi;
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+
+public class GreetingsAsyncApiImpl implements GreetingsAsyncApi {
+    private final HelloClient client;
+    private final Endpoint getGreetingEndpoint;
+
+    public GreetingsAsyncApiImpl(HelloClient client) {
+        this.client = client;
+        this.getGreetingEndpoint = GreetingsApiImpl.getGreetingEndpoint(client);
+    }
+
+    @Override
+    public CompletableFuture<GetGreetingResponse> getGreetingAsync(GetGreetingRequest getGreetingRequest, RequestOptions options) {
+        var future = new CompletableFuture<GetGreetingResponse>();
+        var request = GreetingsApiImpl.getGreetingHttpRequest(this.client, this.getGreetingEndpoint, getGreetingRequest, options);
+        var call = GreetingsApiImpl.newCall(this.client, request);
+
+        // propagate cancellation of the future to the in-flight call.
+        future.whenComplete((result, error) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(Call call, IOException e) {
+                future.completeExceptionally(GreetingsApiImpl.callFailed(request, e));
+            }
+
+            @Override
+            public void onResponse(Call call, Response response) {
+                // hand the body over to the callback executor, keep the dispatcher threads for I/O only.
+                try {
+                    client.callbackExecutor().execute(() -> {
+                        try {
+                            future.complete(GreetingsApiImpl.readGetGreetingResponse(client, response));
+                        } catch (RuntimeException e) {
+                            future.completeExceptionally(e);
+                        }
+                    });
+                } catch (RejectedExecutionException e) {
+                    response.close();
+                    future.completeExceptionally(new GreetingFailedException(e.getMessage()));
+                }
+            }
+        });
+
+        return future;
+    }
+}
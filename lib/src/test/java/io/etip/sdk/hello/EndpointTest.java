@@ -0,0 +1,32 @@
+package io.etip.sdk.hello;
+
+import okhttp3.HttpUrl;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EndpointTest {
+
+    private final HttpUrl baseUrl = HttpUrl.get("http://localhost:8080/api/");
+
+    @Test
+    void pathAndQueryVariablesAreEncoded() {
+        var endpoint = Endpoint.of(baseUrl, "greetings.getGreetingTranslation", "GET",
+                "/greetings/{id}/translations", "lang", "region");
+
+        var request = endpoint.newRequest("a b", "en", null).build();
+
+        assertEquals("http://localhost:8080/api/greetings/a%20b/translations?lang=en", request.url().toString());
+        assertEquals("GET", request.method());
+        assertSame(endpoint, request.tag(Endpoint.class));
+    }
+
+    @Test
+    void variablesMustMatchTheTemplate() {
+        var endpoint = Endpoint.of(baseUrl, "greetings.getGreeting", "GET", "/greetings", "name");
+
+        assertThrows(IllegalArgumentException.class, () -> endpoint.url("a", "b"));
+    }
+}
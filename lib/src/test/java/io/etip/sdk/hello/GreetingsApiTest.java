@@ -0,0 +1,803 @@
+package io.etip.sdk.hello;
+
+import com.github.luben.zstd.Zstd;
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import io.etip.sdk.hello.greetings.GreetingFailedException;
+import io.etip.sdk.hello.greetings.impl.CoalescingGreetingsApi;
+import mockwebserver3.Dispatcher;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
+import mockwebserver3.RecordedRequest;
+import mockwebserver3.SocketPolicy;
+import okhttp3.Request;
+import okio.Buffer;
+import okio.GzipSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.zip.Deflater;
+import java.util.zip.DeflaterOutputStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GreetingsApiTest {
+
+    private static final String GREETING_JSON = """
+            {"message":"Hello, Hantsy","createdAt":"2024-08-01T10:15:30"}
+            """;
+
+    private MockWebServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = new MockWebServer();
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() throws IOException {
+        server.close();
+    }
+
+    private HelloClient.Builder clientBuilder() {
+        return HelloClient.newBuilder()
+                .baseUri(server.url("/api").toString());
+    }
+
+    @Test
+    void getGreeting() throws InterruptedException {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+
+        var response = clientBuilder().build().greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+
+        assertEquals("Hello, Hantsy", response.message());
+        assertEquals(LocalDateTime.of(2024, 8, 1, 10, 15, 30), response.createdAt());
+        assertEquals("/api/greetings?name=Hantsy", server.takeRequest().getPath());
+    }
+
+    @Test
+    void getGreetingAsyncCompletesOnCallbackExecutor() throws Exception {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var callbackThread = new AtomicReference<String>();
+        var executor = Executors.newSingleThreadExecutor(r -> new Thread(r, "greetings-callback"));
+        try {
+            var client = clientBuilder().callbackExecutor(executor).build();
+
+            var response = client.greetingsAsync()
+                    .getGreetingAsync(new GetGreetingRequest("Hantsy"))
+                    .whenComplete((r, e) -> callbackThread.set(Thread.currentThread().getName()))
+                    .get(5, TimeUnit.SECONDS);
+
+            assertEquals("Hello, Hantsy", response.message());
+            assertEquals("greetings-callback", callbackThread.get());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void getGreetingAsyncFailsOnErrorStatus() {
+        server.enqueue(new MockResponse.Builder().code(500).build());
+
+        var future = clientBuilder().build().greetingsAsync().getGreetingAsync(new GetGreetingRequest("Hantsy"));
+
+        var error = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(GreetingFailedException.class, error.getCause());
+        assertTrue(error.getCause().getMessage().contains("500"));
+    }
+
+    @Test
+    void getGreetingsKeepsInputOrderAndReportsFailures() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                var name = request.getRequestUrl().queryParameter("name");
+                if ("nobody".equals(name)) {
+                    return new MockResponse.Builder().code(404).build();
+                }
+                return new MockResponse.Builder()
+                        .body("{\"message\":\"Hello, " + name + "\",\"createdAt\":\"2024-08-01T10:15:30\"}")
+                        .build();
+            }
+        });
+        var requests = List.of(
+                new GetGreetingRequest("a"),
+                new GetGreetingRequest("nobody"),
+                new GetGreetingRequest("b"),
+                new GetGreetingRequest("c"));
+        var lastProgress = new AtomicInteger();
+
+        var response = clientBuilder().build().greetings()
+                .getGreetings(requests, 2, (completed, failed, total) -> lastProgress.accumulateAndGet(completed, Math::max));
+
+        assertEquals(4, response.results().size());
+        assertEquals("Hello, a", response.results().get(0).response().message());
+        assertFalse(response.results().get(1).isSuccess());
+        assertInstanceOf(GreetingFailedException.class, response.results().get(1).failure());
+        assertEquals("Hello, b", response.results().get(2).response().message());
+        assertEquals("Hello, c", response.results().get(3).response().message());
+        assertEquals(List.of(response.results().get(1)), response.failures());
+        assertEquals(4, lastProgress.get());
+    }
+
+    @Test
+    void concurrentIdenticalGetGreetingCallsAreCoalesced() throws Exception {
+        var release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                release.await(5, TimeUnit.SECONDS);
+                return new MockResponse.Builder().body(GREETING_JSON).build();
+            }
+        });
+        var client = clientBuilder().coalesceRequests(true).build();
+        var executor = Executors.newFixedThreadPool(5);
+        try {
+            var calls = new ArrayList<CompletableFuture<String>>();
+            for (int i = 0; i < 5; i++) {
+                calls.add(CompletableFuture.supplyAsync(
+                        () -> client.greetings().getGreeting(new GetGreetingRequest("Hantsy")).message(), executor));
+            }
+
+            // release the backend once the followers are waiting on the leader's call.
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (client.metrics().get(CoalescingGreetingsApi.COALESCED_METRIC) < 4 && System.nanoTime() < deadline) {
+                Thread.sleep(10);
+            }
+            release.countDown();
+
+            for (var call : calls) {
+                assertEquals("Hello, Hantsy", call.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, server.getRequestCount());
+            assertEquals(4, client.metrics().get(CoalescingGreetingsApi.COALESCED_METRIC));
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void aCallWithADeadlineIsNotSharedWithTheCoalescedCallers() throws Exception {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse.Builder().body(GREETING_JSON).headersDelay(300, TimeUnit.MILLISECONDS).build();
+            }
+        });
+        var client = clientBuilder().coalesceRequests(true).build();
+        var request = new GetGreetingRequest("Hantsy");
+        var withTimeout = RequestOptions.newBuilder().timeout(Duration.ofMillis(100)).build();
+
+        var shortCall = CompletableFuture.runAsync(() -> client.greetings().getGreeting(request, withTimeout));
+        server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(request).message());
+
+        var failure = assertThrows(ExecutionException.class, () -> shortCall.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, failure.getCause());
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void truncatedOrLateBodyFailsTheGetGreeting() {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON)
+                .socketPolicy(SocketPolicy.DisconnectDuringResponseBody.INSTANCE).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).throttleBody(8, 100, TimeUnit.MILLISECONDS).build());
+        var client = clientBuilder().build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        var truncated = assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(request));
+        assertNotNull(truncated.getCause());
+        var withTimeout = RequestOptions.newBuilder().timeout(Duration.ofMillis(200)).build();
+        assertThrows(DeadlineExceededException.class, () -> client.greetings().getGreeting(request, withTimeout));
+    }
+
+    @Test
+    void cachedGetGreetingSkipsTheBackendUntilInvalidated() {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder().cache(100, Duration.ofMinutes(5)).build();
+        var request = new GetGreetingRequest("Hantsy");
+        var cache = client.greetingsCache().orElseThrow();
+
+        var first = client.greetings().getGreeting(request);
+        var second = client.greetings().getGreeting(request);
+        assertEquals(first, second);
+        assertEquals(1, server.getRequestCount());
+
+        cache.invalidate(request);
+        client.greetings().getGreeting(request);
+        assertEquals(2, server.getRequestCount());
+
+        var stats = cache.stats();
+        assertEquals(1, stats.hits());
+        assertEquals(2, stats.misses());
+        assertEquals(1, client.metrics().get("greetings.cache.hits"));
+    }
+
+    @Test
+    void invalidationDuringALoadIsNotUndoneByItsWriteBack() throws Exception {
+        var release = new CountDownLatch(1);
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) throws InterruptedException {
+                if (request.getSequenceNumber() == 0) {
+                    release.await(5, TimeUnit.SECONDS);
+                }
+                return new MockResponse.Builder().body(GREETING_JSON).build();
+            }
+        });
+        var client = clientBuilder().cache(100, Duration.ofMinutes(5)).build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        var load = CompletableFuture.supplyAsync(() -> client.greetings().getGreeting(request));
+        server.takeRequest(5, TimeUnit.SECONDS);
+        client.greetingsCache().orElseThrow().invalidate(request);
+        release.countDown();
+        load.get(5, TimeUnit.SECONDS);
+
+        // the response loaded before the invalidation was not cached.
+        client.greetings().getGreeting(request);
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void secretKeyIsSentPreemptivelyAndCanBeRotated() throws InterruptedException {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder().secretKey("key-1").build();
+
+        client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+        client.rotateSecretKey("key-2");
+        client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+
+        assertEquals("key-1", server.takeRequest().getHeaders().get("Authorization"));
+        assertEquals("key-2", server.takeRequest().getHeaders().get("Authorization"));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void getGreetingEncodesTheName() throws InterruptedException {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+
+        clientBuilder().build().greetings().getGreeting(new GetGreetingRequest("Hantsy & co/?"));
+
+        var request = server.takeRequest();
+        assertEquals("/api/greetings?name=Hantsy%20%26%20co%2F%3F", request.getPath());
+        assertEquals("Hantsy & co/?", request.getRequestUrl().queryParameter("name"));
+    }
+
+    @Test
+    void getGreetingNegotiatesTheBinaryFormat() throws InterruptedException, IOException {
+        var codecs = JsonCodec.defaults(JsonCodec.APPLICATION_CBOR);
+        var greeting = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+        var cbor = new Buffer();
+        codecs.encoder(JsonCodec.APPLICATION_CBOR).encode(greeting, cbor);
+        server.enqueue(new MockResponse.Builder().setHeader("Content-Type", "application/cbor").body(cbor).build());
+        // a backend without CBOR support still answers JSON.
+        server.enqueue(new MockResponse.Builder().setHeader("Content-Type", "application/json").body(GREETING_JSON).build());
+        var client = clientBuilder().codecs(codecs).build();
+
+        assertEquals(greeting, client.greetings().getGreeting(new GetGreetingRequest("Hantsy")));
+        assertEquals(greeting, client.greetings().getGreeting(new GetGreetingRequest("Hantsy")));
+        assertEquals("application/cbor, application/json;q=0.9", server.takeRequest().getHeaders().get("Accept"));
+    }
+
+    @Test
+    void getGreetingDecodesTheNegotiatedResponseEncoding() throws IOException, InterruptedException {
+        var json = GREETING_JSON.getBytes(StandardCharsets.UTF_8);
+        var deflated = new Buffer();
+        try (var out = new DeflaterOutputStream(deflated.outputStream(), new Deflater())) {
+            out.write(json);
+        }
+        server.enqueue(new MockResponse.Builder().setHeader("Content-Encoding", "zstd")
+                .body(new Buffer().write(Zstd.compress(json))).build());
+        server.enqueue(new MockResponse.Builder().setHeader("Content-Encoding", "deflate").body(deflated).build());
+        var client = clientBuilder().responseEncodings("zstd", "gzip", "deflate").build();
+
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(new GetGreetingRequest("Hantsy")).message());
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(new GetGreetingRequest("Hantsy")).message());
+        assertEquals("zstd, gzip, deflate", server.takeRequest().getHeaders().get("Accept-Encoding"));
+        assertThrows(IllegalArgumentException.class, () -> clientBuilder().responseEncodings("br").build());
+    }
+
+    @Test
+    void responsesWithoutABodyAreNotDecoded() throws IOException {
+        server.enqueue(new MockResponse.Builder().code(204).setHeader("Content-Encoding", "gzip").build());
+        server.enqueue(new MockResponse.Builder().setHeader("Content-Encoding", "zstd").body("").build());
+        var client = clientBuilder().responseEncodings("zstd", "gzip").build();
+
+        for (int i = 0; i < 2; i++) {
+            try (var response = client.httpClient().newCall(new Request.Builder().url(server.url("/api")).build()).execute()) {
+                assertEquals("", response.body().string());
+            }
+        }
+    }
+
+    @Test
+    void requestBodiesAreGzipped() throws IOException, InterruptedException {
+        server.enqueue(new MockResponse.Builder().build());
+        var client = clientBuilder().gzipRequests(1024).build();
+        var greeting = new GetGreetingRequest("Hantsy");
+
+        client.httpClient().newCall(new Request.Builder()
+                .url(server.url("/api/greetings"))
+                .post(client.codecs().requestBody(greeting))
+                .build()).execute().close();
+
+        var request = server.takeRequest();
+        assertEquals("gzip", request.getHeaders().get("Content-Encoding"));
+        var body = new Buffer();
+        try (var gzip = new GzipSource(request.getBody())) {
+            body.writeAll(gzip);
+        }
+        assertEquals("{\"name\":\"Hantsy\"}", body.readUtf8());
+    }
+
+    private static RetryPolicy.Builder fastRetries() {
+        return RetryPolicy.newBuilder().baseDelay(Duration.ofMillis(1)).maxDelay(Duration.ofMillis(50));
+    }
+
+    @Test
+    void getGreetingRetriesConnectionFailuresAndErrorStatuses() {
+        server.enqueue(new MockResponse.Builder().socketPolicy(SocketPolicy.DisconnectAfterRequest.INSTANCE).build());
+        server.enqueue(new MockResponse.Builder().code(503).build());
+        server.enqueue(new MockResponse.Builder().code(429).setHeader("Retry-After", "0").build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder().retryPolicy(fastRetries().maxAttempts(4).build()).build();
+
+        var response = client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+
+        assertEquals("Hello, Hantsy", response.message());
+        assertEquals(4, server.getRequestCount());
+        assertEquals(3, client.metrics().get("greetings.getGreeting.retries"));
+    }
+
+    @Test
+    void getGreetingIsNotRetriedPastTheRetryAfterLimit() {
+        server.enqueue(new MockResponse.Builder().code(503).setHeader("Retry-After", "3600").build());
+        var client = clientBuilder().retryPolicy(fastRetries().build()).build();
+
+        assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(new GetGreetingRequest("Hantsy")));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void retryBudgetStopsTheRetriesDuringAnOutage() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse.Builder().code(500).build();
+            }
+        });
+        // 4 tokens, the retries stop once 2 are left.
+        var client = clientBuilder()
+                .retryPolicy(fastRetries().maxAttempts(5).budget(4, 0.1).build())
+                .build();
+
+        for (int i = 0; i < 3; i++) {
+            assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(new GetGreetingRequest("Hantsy")));
+        }
+
+        // 2 attempts for the first call, then the budget is exhausted and every call is sent once.
+        assertEquals(4, server.getRequestCount());
+        assertEquals(1, client.metrics().get("greetings.getGreeting.retries"));
+        assertEquals(3, client.metrics().get("retry.budget.exhausted"));
+    }
+
+    @Test
+    void openCircuitFailsFastThenClosesAfterTheHalfOpenCalls() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse.Builder().code(500).build());
+        }
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder()
+                .circuitBreaker(CircuitBreakerPolicy.newBuilder()
+                        .window(10, 4)
+                        .openDuration(Duration.ofMillis(200))
+                        .halfOpenCalls(1)
+                        .build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(request));
+        }
+        assertEquals(1, client.metrics().get("greetings.getGreeting.circuit.state"));
+
+        // rejected without calling the backend, in the blocking and the async calls.
+        var rejected = assertThrows(CircuitOpenException.class, () -> client.greetings().getGreeting(request));
+        assertEquals("greetings.getGreeting", rejected.endpoint());
+        var asyncRejected = assertThrows(ExecutionException.class, () -> client.greetingsAsync().getGreetingAsync(request).get());
+        assertInstanceOf(CircuitOpenException.class, asyncRejected.getCause());
+        assertEquals(4, server.getRequestCount());
+        assertEquals(2, client.metrics().get("greetings.getGreeting.circuit.rejected"));
+
+        // one successful trial call closes the circuit.
+        Thread.sleep(250);
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(request).message());
+        assertEquals(0, client.metrics().get("greetings.getGreeting.circuit.state"));
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(request).message());
+    }
+
+    @Test
+    void slowCallsOpenTheCircuit() {
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(100, TimeUnit.MILLISECONDS).build());
+        }
+        var client = clientBuilder()
+                .circuitBreaker(CircuitBreakerPolicy.newBuilder()
+                        .window(2, 2)
+                        .slowCallRateThreshold(1.0, Duration.ofMillis(50))
+                        .build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        client.greetings().getGreeting(request);
+        client.greetings().getGreeting(request);
+
+        assertThrows(CircuitOpenException.class, () -> client.greetings().getGreeting(request));
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void slowGetGreetingIsHedgedAndTheFastestResponseWins() {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(2, TimeUnit.SECONDS).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder()
+                .hedging(HedgingPolicy.newBuilder().initialDelay(Duration.ofMillis(50)).build())
+                .build();
+
+        long start = System.nanoTime();
+        var response = client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+
+        assertEquals("Hello, Hantsy", response.message());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, client.metrics().get("greetings.getGreeting.hedges.sent"));
+        assertEquals(1, client.metrics().get("greetings.getGreeting.hedges.won"));
+    }
+
+    @Test
+    void hedgeBudgetLimitsTheHedges() throws Exception {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(300, TimeUnit.MILLISECONDS).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(300, TimeUnit.MILLISECONDS).build());
+        var client = clientBuilder()
+                .hedging(HedgingPolicy.newBuilder().initialDelay(Duration.ofMillis(50)).budget(1, 0.01).build())
+                .build();
+
+        client.greetingsAsync().getGreetingAsync(new GetGreetingRequest("Hantsy")).get();
+        client.greetingsAsync().getGreetingAsync(new GetGreetingRequest("Hantsy")).get();
+
+        assertEquals(1, client.metrics().get("greetings.getGreeting.hedges.sent"));
+        assertEquals(1, client.metrics().get("hedge.budget.exhausted"));
+    }
+
+    @Test
+    void rateLimitFailsFastWithoutCallingTheBackend() {
+        for (int i = 0; i < 2; i++) {
+            server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        }
+        var client = clientBuilder()
+                .rateLimit(RateLimitPolicy.newBuilder(0.1).burst(2).scope(RateLimitPolicy.Scope.ENDPOINT).failFast().build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        client.greetings().getGreeting(request);
+        client.greetings().getGreeting(request);
+        var exceeded = assertThrows(RateLimitExceededException.class, () -> client.greetings().getGreeting(request));
+
+        assertEquals("greetings.getGreeting", exceeded.scope());
+        assertEquals(2, server.getRequestCount());
+        assertEquals(1, client.metrics().get("greetings.getGreeting.ratelimit.rejected"));
+    }
+
+    @Test
+    void rateLimitDelaysTheCallsUpToMaxWait() {
+        for (int i = 0; i < 3; i++) {
+            server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        }
+        // a permit every 100ms, the third call waits up to 200ms.
+        var client = clientBuilder()
+                .rateLimit(RateLimitPolicy.newBuilder(10).build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        long start = System.nanoTime();
+        for (int i = 0; i < 3; i++) {
+            client.greetings().getGreeting(request);
+        }
+
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofMillis(190)) >= 0);
+        assertEquals(2, client.metrics().get("ratelimit.delayed"));
+    }
+
+    @Test
+    void callsOverTheConcurrencyLimitAreRejected() throws Exception {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(300, TimeUnit.MILLISECONDS).build());
+        var client = clientBuilder()
+                .concurrencyLimit(ConcurrencyLimitPolicy.newBuilder().initialLimit(1).limits(1, 1).rejectExcess().build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        var first = client.greetingsAsync().getGreetingAsync(request);
+        var rejected = assertThrows(ConcurrencyLimitExceededException.class, () -> client.greetings().getGreeting(request));
+
+        assertEquals(1, rejected.limit());
+        assertEquals("Hello, Hantsy", first.get().message());
+        assertEquals(1, server.getRequestCount());
+        assertEquals(1, client.metrics().get("concurrency.limit"));
+        assertEquals(1, client.metrics().get("concurrency.rejected"));
+    }
+
+    @Test
+    void callsOverTheConcurrencyLimitWaitInTheQueue() throws Exception {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(50, TimeUnit.MILLISECONDS).build());
+        }
+        var client = clientBuilder()
+                .concurrencyLimit(ConcurrencyLimitPolicy.newBuilder().initialLimit(1).limits(1, 1)
+                        .queue(10, Duration.ofSeconds(5)).build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        var futures = new ArrayList<CompletableFuture<GetGreetingResponse>>();
+        for (int i = 0; i < 3; i++) {
+            futures.add(client.greetingsAsync().getGreetingAsync(request));
+        }
+        assertEquals("Hello, Hantsy", client.greetings().getGreeting(request).message());
+        for (var future : futures) {
+            assertEquals("Hello, Hantsy", future.get().message());
+        }
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(0, client.metrics().get("concurrency.inflight"));
+        assertEquals(0, client.metrics().get("concurrency.queued"));
+    }
+
+    @Test
+    void queuedAsyncCallsFailAfterMaxWaitWhenTheBackendStalls() throws Exception {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(2, TimeUnit.SECONDS).build());
+        var client = clientBuilder()
+                .concurrencyLimit(ConcurrencyLimitPolicy.newBuilder().initialLimit(1).limits(1, 1)
+                        .queue(10, Duration.ofMillis(200)).build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+
+        var stalled = client.greetingsAsync().getGreetingAsync(request);
+        var queued = client.greetingsAsync().getGreetingAsync(request);
+
+        // no call completes to start or reject the waiter, its timer fails it.
+        var rejected = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(ConcurrencyLimitExceededException.class, rejected.getCause());
+        assertEquals(0, client.metrics().get("concurrency.queued"));
+        assertEquals(1, client.metrics().get("concurrency.rejected"));
+        assertEquals("Hello, Hantsy", stalled.get().message());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void queuedAsyncCallsFailAtTheirDeadline() throws Exception {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(2, TimeUnit.SECONDS).build());
+        var client = clientBuilder()
+                .concurrencyLimit(ConcurrencyLimitPolicy.newBuilder().initialLimit(1).limits(1, 1)
+                        .queue(10, Duration.ofSeconds(5)).build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+        var options = RequestOptions.newBuilder().timeout(Duration.ofMillis(200)).build();
+
+        var stalled = client.greetingsAsync().getGreetingAsync(request);
+        var queued = client.greetingsAsync().getGreetingAsync(request, options);
+
+        // the OkHttp call timeout only starts once the call is sent, the deadline fails it while still queued.
+        var expired = assertThrows(ExecutionException.class, () -> queued.get(1, TimeUnit.SECONDS));
+        assertInstanceOf(DeadlineExceededException.class, expired.getCause());
+        assertEquals(0, client.metrics().get("concurrency.queued"));
+        assertEquals(0, client.metrics().get("concurrency.rejected"));
+        assertEquals("Hello, Hantsy", stalled.get().message());
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void callsRejectedByTheSdkDoNotShrinkTheConcurrencyLimit() {
+        for (int i = 0; i < 4; i++) {
+            server.enqueue(new MockResponse.Builder().code(500).build());
+        }
+        var client = clientBuilder()
+                .circuitBreaker(CircuitBreakerPolicy.newBuilder().window(10, 4).openDuration(Duration.ofMinutes(1)).build())
+                .concurrencyLimit(ConcurrencyLimitPolicy.newBuilder().initialLimit(10).limits(1, 100).build())
+                .build();
+        var request = new GetGreetingRequest("Hantsy");
+        for (int i = 0; i < 4; i++) {
+            assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(request));
+        }
+        long limit = client.metrics().get("concurrency.limit");
+
+        // the open circuit fails the calls without calling the backend, they are neither drops nor RTT samples.
+        for (int i = 0; i < 20; i++) {
+            assertThrows(CircuitOpenException.class, () -> client.greetings().getGreeting(request));
+        }
+
+        assertEquals(4, server.getRequestCount());
+        assertEquals(limit, client.metrics().get("concurrency.limit"));
+    }
+
+    @Test
+    void deadlineBoundsTheCallWithoutRebuildingTheClient() {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).headersDelay(2, TimeUnit.SECONDS).build());
+        var client = clientBuilder().build();
+        var options = RequestOptions.newBuilder().timeout(Duration.ofMillis(200)).build();
+
+        long start = System.nanoTime();
+        assertThrows(DeadlineExceededException.class, () -> client.greetings().getGreeting(new GetGreetingRequest("Hantsy"), options));
+        var async = assertThrows(ExecutionException.class,
+                () -> client.greetingsAsync().getGreetingAsync(new GetGreetingRequest("Hantsy"), options).get());
+
+        assertInstanceOf(DeadlineExceededException.class, async.getCause());
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).compareTo(Duration.ofSeconds(1)) < 0);
+    }
+
+    @Test
+    void retryIsNotAttemptedPastTheDeadline() {
+        server.enqueue(new MockResponse.Builder().code(503).build());
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder()
+                .retryPolicy(RetryPolicy.newBuilder().baseDelay(Duration.ofMillis(500)).maxDelay(Duration.ofSeconds(1)).build())
+                .build();
+        var options = RequestOptions.newBuilder().timeout(Duration.ofMillis(300)).build();
+
+        assertThrows(GreetingFailedException.class, () -> client.greetings().getGreeting(new GetGreetingRequest("Hantsy"), options));
+        assertEquals(1, server.getRequestCount());
+    }
+
+    @Test
+    void requestOptionsAddTheHeadersAndTheIdempotencyKey() throws InterruptedException {
+        server.enqueue(new MockResponse.Builder().body(GREETING_JSON).build());
+        var client = clientBuilder().build();
+        var options = RequestOptions.newBuilder()
+                .header("X-Request-Id", "42")
+                .idempotencyKey("greeting-42")
+                .build();
+
+        client.greetings().getGreeting(new GetGreetingRequest("Hantsy"), options);
+
+        var request = server.takeRequest();
+        assertEquals("42", request.getHeaders().get("X-Request-Id"));
+        assertEquals("greeting-42", request.getHeaders().get("Idempotency-Key"));
+    }
+
+    @Test
+    void requestsWithAnIdempotencyKeyAreRetried() throws IOException {
+        server.enqueue(new MockResponse.Builder().code(503).build());
+        server.enqueue(new MockResponse.Builder().build());
+        var client = clientBuilder().retryPolicy(fastRetries().build()).build();
+
+        var post = RequestOptions.newBuilder().idempotencyKey("greeting-42").build().applyTo(new Request.Builder()
+                .url(server.url("/api/greetings"))
+                .post(client.codecs().requestBody(new GetGreetingRequest("Hantsy"))));
+        try (var response = client.httpClient().newCall(post.build()).execute()) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(2, server.getRequestCount());
+    }
+
+    @Test
+    void cachePolicyRefreshesOrBypassesTheCache() {
+        server.setDispatcher(new Dispatcher() {
+            @Override
+            public MockResponse dispatch(RecordedRequest request) {
+                return new MockResponse.Builder().body(GREETING_JSON).build();
+            }
+        });
+        var client = clientBuilder().cache(100, Duration.ofMinutes(5)).build();
+        var request = new GetGreetingRequest("Hantsy");
+        var refresh = RequestOptions.newBuilder().cachePolicy(RequestOptions.CachePolicy.REFRESH).build();
+        var bypass = RequestOptions.newBuilder().cachePolicy(RequestOptions.CachePolicy.BYPASS).build();
+
+        client.greetings().getGreeting(request);
+        client.greetings().getGreeting(request);
+        assertEquals(1, server.getRequestCount());
+
+        client.greetings().getGreeting(request, refresh);
+        client.greetings().getGreeting(request, bypass);
+        client.greetings().getGreeting(request);
+        assertEquals(3, server.getRequestCount());
+
+        client.greetingsCache().orElseThrow().invalidateAll();
+        client.greetings().getGreeting(request, bypass);
+        client.greetings().getGreeting(request);
+        assertEquals(5, server.getRequestCount());
+    }
+
+    @Test
+    void callsAreBalancedTowardsTheFasterBaseUri() throws IOException, InterruptedException {
+        try (var slow = new MockWebServer()) {
+            slow.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse.Builder().body(GREETING_JSON).headersDelay(100, TimeUnit.MILLISECONDS).build();
+                }
+            });
+            slow.start();
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse.Builder().body(GREETING_JSON).build();
+                }
+            });
+            var client = HelloClient.newBuilder()
+                    .baseUris(server.url("/api").toString(), slow.url("/v2/api").toString())
+                    .build();
+
+            for (int i = 0; i < 20; i++) {
+                assertEquals("Hello, Hantsy", client.greetings().getGreeting(new GetGreetingRequest("Hantsy")).message());
+            }
+
+            // the slow base URI is probed while it has no latency sample, then avoided.
+            assertTrue(slow.getRequestCount() <= 2, "slow base URI got " + slow.getRequestCount() + " calls");
+            assertEquals(20, server.getRequestCount() + slow.getRequestCount());
+            if (slow.getRequestCount() > 0) {
+                assertEquals("/v2/api/greetings?name=Hantsy", slow.takeRequest().getPath());
+            }
+        }
+    }
+
+    @Test
+    void failingBaseUriIsEjected() throws IOException {
+        try (var failing = new MockWebServer()) {
+            failing.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse.Builder().code(500).build();
+                }
+            });
+            failing.start();
+            // the healthy base URI is slower, the failing one is preferred until it is ejected.
+            server.setDispatcher(new Dispatcher() {
+                @Override
+                public MockResponse dispatch(RecordedRequest request) {
+                    return new MockResponse.Builder().body(GREETING_JSON).headersDelay(20, TimeUnit.MILLISECONDS).build();
+                }
+            });
+            var client = HelloClient.newBuilder()
+                    .baseUris(failing.url("/api").toString(), server.url("/api").toString())
+                    .loadBalancing(LoadBalancerPolicy.newBuilder().outlierEjection(2, Duration.ofMinutes(1), 0.5).build())
+                    .build();
+
+            int failures = 0;
+            for (int i = 0; i < 10; i++) {
+                try {
+                    client.greetings().getGreeting(new GetGreetingRequest("Hantsy"));
+                } catch (GreetingFailedException e) {
+                    failures++;
+                }
+            }
+
+            assertEquals(2, failing.getRequestCount());
+            assertEquals(2, failures);
+            assertEquals(1, client.metrics().get("loadbalancer.ejections"));
+            assertEquals(1, client.metrics().get("loadbalancer." + failing.getHostName() + ":" + failing.getPort() + ".ejected"));
+        }
+    }
+}
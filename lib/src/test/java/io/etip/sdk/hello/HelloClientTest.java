@@ -2,12 +2,24 @@
 package io.etip.sdk.hello;
 
 import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import mockwebserver3.MockResponse;
+import mockwebserver3.MockWebServer;
 import okhttp3.OkHttpClient;
 import okhttp3.logging.HttpLoggingInterceptor;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledForJreRange;
+import org.junit.jupiter.api.condition.JRE;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class HelloClientTest {
 
@@ -30,9 +42,10 @@ class HelloClientTest {
                 })
                 .addInterceptor(new HttpLoggingInterceptor().setLevel(HttpLoggingInterceptor.Level.BODY))
                 .build();
+        var objectMapper = JsonCodec.defaultObjectMapper();
         JsonCodec jsonCodec = JsonCodec.newBuilder()
-//                .decoder()
-//                .encoder()
+                .decoder(new ObjectMapperDecoder(objectMapper))
+                .encoder(new ObjectMapperEncoder(objectMapper))
                 .build();
         HelloClient client = HelloClient.newBuilder()
                 .httpClient(httpClient)
@@ -43,6 +56,65 @@ class HelloClientTest {
         assertEquals("http://localhost:8080", client.baseUri());
     }
 
+    @Test
+    void createClientWithTunedConnectionPoolDispatcherAndTimeouts() {
+        HelloClient client = HelloClient.newBuilder()
+                .baseUri("http://localhost:8080")
+                .maxRequestsPerHost(128)
+                .readTimeout(Duration.ofSeconds(3))
+                .callTimeout(Duration.ofSeconds(15))
+                .build();
+
+        var httpClient = client.httpClient();
+        assertEquals(HelloClient.Builder.DEFAULT_MAX_REQUESTS, httpClient.dispatcher().getMaxRequests());
+        assertEquals(128, httpClient.dispatcher().getMaxRequestsPerHost());
+        assertEquals((int) HelloClient.Builder.DEFAULT_CONNECT_TIMEOUT.toMillis(), httpClient.connectTimeoutMillis());
+        assertEquals(3_000, httpClient.readTimeoutMillis());
+        assertEquals(15_000, httpClient.callTimeoutMillis());
+    }
+
+    // run by `./gradlew testJdk21`, the library is compiled against Java 17, Thread.isVirtual() is called reflectively.
+    @Test
+    @EnabledForJreRange(min = JRE.JAVA_21)
+    void virtualThreadsRunTheCallsAndTheCallbacks() throws Exception {
+        try (var server = new MockWebServer()) {
+            server.enqueue(new MockResponse.Builder().body("{\"message\":\"Hello, Hantsy\"}").build());
+            server.start();
+            var callThread = new AtomicReference<Thread>();
+            var httpClient = new OkHttpClient.Builder()
+                    .addInterceptor(chain -> {
+                        callThread.set(Thread.currentThread());
+                        return chain.proceed(chain.request());
+                    })
+                    .build();
+            var client = HelloClient.newBuilder()
+                    .baseUri(server.url("/api").toString())
+                    .httpClient(httpClient)
+                    .virtualThreads(true)
+                    .build();
+
+            client.greetingsAsync().getGreetingAsync(new GetGreetingRequest("Hantsy")).get(5, TimeUnit.SECONDS);
+            var callbackThread = CompletableFuture.supplyAsync(Thread::currentThread, client.callbackExecutor())
+                    .get(5, TimeUnit.SECONDS);
+
+            var isVirtual = Thread.class.getMethod("isVirtual");
+            assertTrue((boolean) isVirtual.invoke(callThread.get()));
+            assertTrue((boolean) isVirtual.invoke(callbackThread));
+        }
+    }
+
+    @Test
+    @EnabledForJreRange(max = JRE.JAVA_20)
+    void virtualThreadsFailTheBuildBeforeJava21() {
+        assertFalse(VirtualThreads.isSupported());
+        var builder = HelloClient.newBuilder().baseUri("http://localhost:8080").virtualThreads(true);
+
+        var e = assertThrows(HelloException.class, builder::build);
+        assertTrue(e.getMessage().startsWith("Virtual threads require Java 21"));
+        // the platform-thread client is still available on the same runtime.
+        assertNotNull(builder.virtualThreads(false).build().httpClient());
+    }
+
     // An example of calling GreetingApis
     // @Test
     void callGetGreetingApis() {
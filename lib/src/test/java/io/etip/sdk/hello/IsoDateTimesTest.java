@@ -0,0 +1,111 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.junit.jupiter.api.Test;
+
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class IsoDateTimesTest {
+
+    // whole seconds, millis, micros and nanos, in the 0000-9999 years the fast path covers.
+    private static List<LocalDateTime> randomDateTimes() {
+        var random = new Random(42);
+        var nanoSteps = new int[]{1_000_000_000, 1_000_000, 1_000, 1};
+        return random.ints(10_000, 0, Integer.MAX_VALUE)
+                .mapToObj(i -> LocalDateTime.of(random.nextInt(10_000), 1 + random.nextInt(12), 1 + random.nextInt(28),
+                        random.nextInt(24), random.nextInt(60), i % 3 == 0 ? 0 : random.nextInt(60),
+                        random.nextInt(1_000_000_000) / nanoSteps[i % 4] * nanoSteps[i % 4] % 1_000_000_000))
+                .toList();
+    }
+
+    private static String format(LocalDateTime value) {
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        return new String(chars, 0, IsoDateTimes.formatLocalDateTime(value, chars, 0));
+    }
+
+    @Test
+    void localDateTimeMatchesIsoLocalDateTime() {
+        for (var value : randomDateTimes()) {
+            var iso = DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(value);
+
+            assertEquals(iso, format(value));
+            assertEquals(value, IsoDateTimes.parseLocalDateTime(iso.toCharArray(), 0, iso.length()));
+        }
+    }
+
+    @Test
+    void instantAndOffsetDateTimeMatchTheIsoFormatters() {
+        var offsets = List.of(ZoneOffset.UTC, ZoneOffset.ofHours(2), ZoneOffset.ofHoursMinutes(-5, -30), ZoneOffset.ofHours(14));
+        var chars = new char[IsoDateTimes.MAX_LENGTH];
+        int i = 0;
+        for (var local : randomDateTimes()) {
+            var instant = local.toInstant(ZoneOffset.UTC);
+            var instantIso = DateTimeFormatter.ISO_INSTANT.format(instant);
+            assertEquals(instantIso, new String(chars, 0, IsoDateTimes.formatInstant(instant, chars, 0)));
+            assertEquals(instant, IsoDateTimes.parseInstant(instantIso));
+
+            var offsetDateTime = OffsetDateTime.of(local, offsets.get(i++ % offsets.size()));
+            var offsetIso = DateTimeFormatter.ISO_OFFSET_DATE_TIME.format(offsetDateTime);
+            assertEquals(offsetIso, new String(chars, 0, IsoDateTimes.formatOffsetDateTime(offsetDateTime, chars, 0)));
+            assertEquals(offsetDateTime, IsoDateTimes.parseOffsetDateTime(offsetIso));
+        }
+    }
+
+    @Test
+    void otherFormsFallBackToTheIsoFormatters() {
+        for (var text : List.of("2024-08-01T10:15", "2024-08-01t10:15:30.5", "2024-08-01T10:15:30.123456789",
+                "2024-08-01T10:15:30.", "+12024-08-01T10:15:30", "-0001-08-01T10:15:30")) {
+            assertEquals(LocalDateTime.parse(text, DateTimeFormatter.ISO_LOCAL_DATE_TIME), IsoDateTimes.parseLocalDateTime(text));
+        }
+        for (var text : List.of("2024-08-01T10:15:30+02:00:30", "2024-08-01T10:15:30-00:00", "2024-08-01T10:15Z")) {
+            assertEquals(OffsetDateTime.parse(text, DateTimeFormatter.ISO_OFFSET_DATE_TIME), IsoDateTimes.parseOffsetDateTime(text));
+        }
+
+        // not covered by the fast path.
+        assertNull(IsoDateTimes.parseLocalDateTime("+12024-08-01T10:15:30".toCharArray(), 0, 21));
+        assertEquals(-1, IsoDateTimes.formatLocalDateTime(LocalDateTime.of(12024, 8, 1, 10, 15), new char[IsoDateTimes.MAX_LENGTH], 0));
+        assertEquals(-1, IsoDateTimes.formatInstant(Instant.MAX, new char[IsoDateTimes.MAX_LENGTH], 0));
+    }
+
+    @Test
+    void invalidValuesFailAsTheIsoFormatters() {
+        for (var text : List.of("2024-02-30T10:15:30", "2024-08-01T24:00:00", "2024-08-01 10:15:30",
+                "2024-08-01T10:15:30.1234567890", "2024-08-01T10:15:3x")) {
+            var expected = assertThrows(DateTimeException.class, () -> LocalDateTime.parse(text));
+            var actual = assertThrows(DateTimeException.class, () -> IsoDateTimes.parseLocalDateTime(text));
+            assertEquals(expected.getMessage(), actual.getMessage());
+        }
+    }
+
+    @Test
+    void defaultObjectMapperMatchesTheJavaTimeModule() throws JsonProcessingException {
+        var javaTime = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        var objectMapper = JsonCodec.defaultObjectMapper();
+        var values = List.of(
+                LocalDateTime.of(2024, 8, 1, 10, 15, 30, 120_000_000),
+                Instant.parse("2024-08-01T10:15:30.000001Z"),
+                OffsetDateTime.parse("2024-08-01T10:15:30+02:00"));
+
+        for (var value : values) {
+            var json = javaTime.writeValueAsString(value);
+            assertEquals(json, objectMapper.writeValueAsString(value));
+            assertEquals(javaTime.readValue(json, value.getClass()), objectMapper.readValue(json, value.getClass()));
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package io.etip.sdk.hello;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import io.etip.sdk.hello.greetings.GetGreetingRequest;
+import io.etip.sdk.hello.greetings.GetGreetingResponse;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class JsonCodecTest {
+
+    private static final String GREETING_JSON = "{\"message\":\"Hello, Hantsy\",\"createdAt\":\"2024-08-01T10:15:30\"}";
+
+    @Test
+    void requestBodyStreamsThroughTheEncoder() throws IOException {
+        var codec = JsonCodec.newBuilder()
+                .encoder(new JsonEncoder() {
+                    @Override
+                    public String encode(Object obj) {
+                        throw new UnsupportedOperationException("the String variant must not be used");
+                    }
+
+                    @Override
+                    public void encode(Object obj, OutputStream out) throws IOException {
+                        out.write(("{\"name\":\"" + obj + "\"}").getBytes(StandardCharsets.UTF_8));
+                    }
+                })
+                .build();
+
+        var body = codec.requestBody("Hantsy");
+        var sink = new Buffer();
+        body.writeTo(sink);
+
+        assertEquals("{\"name\":\"Hantsy\"}", sink.readUtf8());
+        assertEquals(-1, body.contentLength());
+        assertEquals("application/json; charset=utf-8", body.contentType().toString());
+    }
+
+    @Test
+    void requestBodyFallsBackToTheStringEncoder() throws IOException {
+        var codec = JsonCodec.newBuilder()
+                .encoder(obj -> "\"" + obj + "\"")
+                .build();
+
+        var sink = new Buffer();
+        codec.requestBody("Gr\u00fc\u00dfe").writeTo(sink);
+
+        assertEquals("\"Gr\u00fc\u00dfe\"", sink.readUtf8());
+    }
+
+    @Test
+    void streamingEncoderPropagatesTheIOExceptionOfTheStream() {
+        var closed = new IOException("connection reset");
+        var out = new OutputStream() {
+            @Override
+            public void write(int b) throws IOException {
+                throw closed;
+            }
+        };
+
+        var greeting = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+        assertSame(closed, assertThrows(IOException.class, () -> JsonCodec.defaults().encoder().encode(greeting, out)));
+    }
+
+    @Test
+    void defaultCodecRoundTripsJavaTimeTypes() {
+        var codec = JsonCodec.defaults();
+        var greeting = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+
+        var json = codec.encoder().encode(greeting);
+
+        assertEquals("{\"message\":\"Hello, Hantsy\",\"createdAt\":\"2024-08-01T10:15:30\"}", json);
+        assertEquals(greeting, codec.decoder().decode(json, GetGreetingResponse.class));
+        assertSame(codec, JsonCodec.defaults());
+    }
+
+    @Test
+    void defaultCodecIgnoresUnknownProperties() {
+        var json = "{\"message\":\"Hello\",\"createdAt\":\"2024-08-01T10:15:30\",\"locale\":\"en\"}";
+
+        var greeting = JsonCodec.defaults().decoder()
+                .decode(json.getBytes(StandardCharsets.UTF_8), GetGreetingResponse.class);
+
+        assertEquals("Hello", greeting.message());
+    }
+
+    @Test
+    void generatedCodecsRejectMalformedDates() {
+        var databind = new ObjectMapperDecoder(JsonCodec.defaultObjectMapper());
+        for (var createdAt : List.of("\"not-a-date\"", "\"2024-13-01T10:15:30\"", "{\"year\":2024}", "true")) {
+            var json = ("{\"message\":\"Hello\",\"createdAt\":" + createdAt + "}").getBytes(StandardCharsets.UTF_8);
+
+            var e = assertThrows(HelloException.class, () -> JsonCodec.defaults().decoder().decode(json, GetGreetingResponse.class));
+            assertInstanceOf(JsonProcessingException.class, e.getCause(), createdAt);
+            assertThrows(HelloException.class, () -> databind.decode(json, GetGreetingResponse.class));
+        }
+    }
+
+    @Test
+    void generatedCodecsRejectAnObjectForAString() {
+        var json = "{\"message\":{\"text\":\"Hello\"},\"createdAt\":\"2024-08-01T10:15:30\"}";
+
+        assertThrows(HelloException.class, () -> JsonCodec.defaults().decoder()
+                .decode(json.getBytes(StandardCharsets.UTF_8), GetGreetingResponse.class));
+    }
+
+    @Test
+    void generatedCodecsMatchDatabind() {
+        var objectMapper = JsonCodec.defaultObjectMapper();
+        var databindEncoder = new ObjectMapperEncoder(objectMapper);
+        var databindDecoder = new ObjectMapperDecoder(objectMapper);
+        var greeting = new GetGreetingResponse("Hello, \"Hantsy\"", LocalDateTime.of(2024, 8, 1, 10, 15, 30, 123_000_000));
+        var noDate = new GetGreetingResponse("Hello", null);
+        var request = new GetGreetingRequest("Hantsy");
+
+        assertNotNull(RecordCodecs.find(GetGreetingResponse.class));
+        for (var value : new Object[]{greeting, noDate, request}) {
+            var json = JsonCodec.defaults().encoder().encode(value);
+            assertEquals(databindEncoder.encode(value), json);
+            assertEquals(databindDecoder.decode(json, value.getClass()), JsonCodec.defaults().decoder().decode(json, value.getClass()));
+        }
+    }
+
+    @Test
+    void decodesParameterizedTypes() {
+        var json = "[{\"message\":\"Hello, a\"},{\"message\":\"Hello, b\"}]";
+        var expected = List.of(new GetGreetingResponse("Hello, a", null), new GetGreetingResponse("Hello, b", null));
+
+        assertEquals(new TypeToken<List<GetGreetingResponse>>() {}, TypeToken.listOf(GetGreetingResponse.class));
+        assertEquals(expected, JsonCodec.defaults().decoder().decode(json, TypeToken.listOf(GetGreetingResponse.class)));
+        assertEquals(expected, new ObjectMapperDecoder(JsonCodec.defaultObjectMapper())
+                .decode(json, new TypeToken<List<GetGreetingResponse>>() {}));
+        assertEquals(Map.of("a", 1, "b", 2), JsonCodec.defaults().decoder()
+                .decode("{\"a\":1,\"b\":2}", new TypeToken<Map<String, Integer>>() {}));
+    }
+
+    @Test
+    void decodeArrayStreamsTheElements() {
+        var json = "[{\"message\":\"Hello, a\"},{\"message\":\"Hello, b\"},{\"message\":\"Hello, c\"}]"
+                .getBytes(StandardCharsets.UTF_8);
+
+        for (var decoder : List.of(JsonCodec.defaults().decoder(), new ObjectMapperDecoder(JsonCodec.defaultObjectMapper()))) {
+            try (var greetings = decoder.decodeArray(new ByteArrayInputStream(json), GetGreetingResponse.class)) {
+                assertEquals("Hello, a,Hello, b,Hello, c",
+                        greetings.map(GetGreetingResponse::message).collect(Collectors.joining(",")));
+            }
+            try (var greetings = decoder.decodeArray(new ByteArrayInputStream(json), GetGreetingResponse.class)) {
+                var iterator = greetings.iterator();
+                assertEquals("Hello, a", iterator.next().message());
+            }
+        }
+    }
+
+    @Test
+    void binaryFormatsRoundTripAndFallBackToJson() throws IOException {
+        var greeting = new GetGreetingResponse("Hello, Hantsy", LocalDateTime.of(2024, 8, 1, 10, 15, 30));
+
+        for (var format : List.of(JsonCodec.APPLICATION_CBOR, JsonCodec.APPLICATION_SMILE)) {
+            var codec = JsonCodec.defaults(format);
+            var body = new Buffer();
+            codec.encoder(format).encode(greeting, body);
+
+            assertEquals(greeting, codec.decoder(format).decode(body, GetGreetingResponse.class));
+            assertSame(codec.decoder(), codec.decoder(JsonRequestBody.APPLICATION_JSON));
+            assertSame(codec.decoder(), codec.decoder(null));
+        }
+        assertNull(JsonCodec.defaults().accept());
+    }
+
+    // decoded by databind, no codec is generated for it.
+    record Labels(String owner, List<String> labels) {
+    }
+
+    @Test
+    void stringDeduplicationSharesTheConfiguredFields() {
+        var deduplication = StringDeduplication.newBuilder()
+                .field(GetGreetingResponse.class, "message")
+                .field(GetGreetingRequest.class, "unknown")
+                .type(Labels.class)
+                .build();
+        var decoder = JsonCodec.defaults(deduplication).decoder();
+
+        var first = decoder.decode(GREETING_JSON, GetGreetingResponse.class);
+        var second = decoder.decode(GREETING_JSON.getBytes(StandardCharsets.UTF_8), GetGreetingResponse.class);
+        assertEquals(first, second);
+        assertSame(first.message(), second.message());
+        var request = "{\"name\":\"Hantsy\"}";
+        assertNotSame(decoder.decode(request, GetGreetingRequest.class).name(), decoder.decode(request, GetGreetingRequest.class).name());
+
+        var labels = "{\"owner\":\"Hantsy\",\"labels\":[\"a\",\"b\"]}";
+        var firstLabels = decoder.decode(labels, Labels.class);
+        var secondLabels = decoder.decode(labels, Labels.class);
+        assertSame(firstLabels.owner(), secondLabels.owner());
+        assertSame(firstLabels.labels().get(1), secondLabels.labels().get(1));
+        assertTrue(deduplication.deduplicator().hits() >= 4);
+    }
+}
@@ -0,0 +1,72 @@
+package io.etip.sdk.hello;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TokenBucketTest {
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void burstThenOnePermitPerInterval() {
+        // 10 permits per second, a permit every 100ms.
+        var bucket = new TokenBucket(10, 3, 0);
+
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.reserve(0, 0));
+        }
+        assertEquals(-1, bucket.reserve(0, 0));
+        assertEquals(0, bucket.available(0));
+
+        assertEquals(0, bucket.reserve(SECOND / 10, 0));
+        assertEquals(-1, bucket.reserve(SECOND / 10, 0));
+        // the waiting callers are queued behind each other.
+        assertEquals(SECOND / 10, bucket.reserve(SECOND / 10, SECOND));
+        assertEquals(2 * SECOND / 10, bucket.reserve(SECOND / 10, SECOND));
+    }
+
+    @Test
+    void idleBucketDoesNotExceedTheBurst() {
+        var bucket = new TokenBucket(10, 3, 0);
+
+        assertEquals(3, bucket.available(60 * SECOND));
+        for (int i = 0; i < 3; i++) {
+            assertEquals(0, bucket.reserve(60 * SECOND, 0));
+        }
+        assertEquals(-1, bucket.reserve(60 * SECOND, 0));
+    }
+
+    @Test
+    void grantsExactlyTheBurstUnderContention() throws InterruptedException {
+        var bucket = new TokenBucket(1, 1_000, 0);
+        var granted = new AtomicInteger();
+        var start = new CountDownLatch(1);
+        var threads = new ArrayList<Thread>();
+        for (int t = 0; t < 16; t++) {
+            var thread = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < 10_000; i++) {
+                    if (bucket.reserve(0, 0) == 0) {
+                        granted.incrementAndGet();
+                    }
+                }
+            });
+            thread.start();
+            threads.add(thread);
+        }
+        start.countDown();
+        for (var thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(1_000, granted.get());
+    }
+}
@@ -0,0 +1,64 @@
+package io.etip.sdk.hello;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VegasLimitTest {
+    private static final long MILLIS = 1_000_000L;
+
+    private static ConcurrencyLimitPolicy policy() {
+        return ConcurrencyLimitPolicy.newBuilder().initialLimit(20).limits(1, 200).build();
+    }
+
+    @Test
+    void limitGrowsWhileTheRttStaysAtTheNoLoadRtt() {
+        var limit = new VegasLimit(policy());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, limit.limit(), false);
+        }
+
+        assertEquals(200, limit.limit());
+    }
+
+    @Test
+    void limitDoesNotGrowWhenTheClientUsesLessThanHalfOfIt() {
+        var limit = new VegasLimit(policy());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 5, false);
+        }
+
+        assertEquals(20, limit.limit());
+    }
+
+    @Test
+    void limitShrinksWhenTheBackendQueues() {
+        var limit = new VegasLimit(policy());
+        limit.onSample(10 * MILLIS, 20, false);
+        int grown = limit.limit();
+
+        // twice the no-load RTT, half of the in-flight calls are queued by the backend.
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(20 * MILLIS, limit.limit(), false);
+        }
+
+        assertTrue(limit.limit() < grown);
+        assertTrue(limit.limit() <= 20);
+    }
+
+    @Test
+    void dropsCutTheLimitDownToTheMinimum() {
+        var limit = new VegasLimit(policy());
+
+        limit.onSample(10 * MILLIS, 20, true);
+        assertEquals(18, limit.limit());
+
+        for (int i = 0; i < 100; i++) {
+            limit.onSample(10 * MILLIS, 20, true);
+        }
+        assertEquals(1, limit.limit());
+    }
+}
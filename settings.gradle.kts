@@ -11,4 +11,4 @@ plugins {
 }
 
 rootProject.name = "client-sdk-template"
-include("lib")
+include("lib", "codegen")